@@ -0,0 +1,64 @@
+// 솔루션 생성 동시성 부하 테스트 (k6)
+//
+// 플랫폼 스레드(thread-per-request) 모드와 가상 스레드 모드에서 같은 부하를 주고
+// 동시에 처리되는 요청 수 / 지연 시간 / 실패율을 비교한다.
+//
+//   # 1) 기존 모드 (Tomcat 기본 최대 200 스레드)
+//   VIRTUAL_THREADS_ENABLED=false ./gradlew bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e RECORD_IDS=1,2,3 loadtest/solution-generate.js
+//
+//   # 2) 가상 스레드 모드
+//   VIRTUAL_THREADS_ENABLED=true ./gradlew bootRun
+//   k6 run -e BASE_URL=http://localhost:8080 -e RECORD_IDS=1,2,3 loadtest/solution-generate.js
+//
+// - AUTH_MODE=development(기본)면 토큰 없이 테스트 사용자로 호출된다. 운영 모드면 -e TOKEN=... 지정
+// - SPRING_PROFILES_ACTIVE=dev,gemini-stub 로 띄우면 내장 Gemini 대역 서버(GeminiStubController)를 사용해
+//   API 키 / 외부 호출 한도와 무관하게 서버 측 한계만 볼 수 있다 (지연 분포 / 오류율 / 429 한도는 GEMINI_STUB_* 로 조절)
+// - 가상 스레드 모드에서는 /actuator/metrics/jvm.threads.virtual.pinned 도 함께 확인
+// - Gemini 호출 동안에는 트랜잭션 / DB 커넥션을 잡지 않으므로(SolutionService 단계 분리) 커넥션 풀(Hikari 기본 10)은
+//   조회 / 저장 단계에서만 잠깐씩 사용된다 - hikaricp.connections.active 로 확인
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RECORD_IDS = (__ENV.RECORD_IDS || '1').split(',').map(Number);
+const TOKEN = __ENV.TOKEN;
+const MAX_VUS = Number(__ENV.MAX_VUS || 2000);
+
+const generateLatency = new Trend('generate_latency', true);
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Math.floor(MAX_VUS / 10) },
+                { duration: '1m', target: Math.floor(MAX_VUS / 2) },
+                { duration: '1m', target: MAX_VUS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '30s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        generate_latency: ['p(95)<10000'],
+    },
+};
+
+export default function () {
+    const recordId = RECORD_IDS[Math.floor(Math.random() * RECORD_IDS.length)];
+    const headers = { 'Content-Type': 'application/json' };
+    if (TOKEN) headers.Authorization = `Bearer ${TOKEN}`;
+
+    const res = http.post(`${BASE_URL}/api/v1/solutions/generate`, JSON.stringify({ recordId }), {
+        headers,
+        timeout: '120s',
+    });
+
+    generateLatency.add(res.timings.duration);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
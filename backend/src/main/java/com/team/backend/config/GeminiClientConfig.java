@@ -0,0 +1,100 @@
+package com.team.backend.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini API 전용 WebClient (애플리케이션 전체에서 하나를 공유)
+ * - Reactor Netty 커넥션 풀: 최대 연결 수, 대기 큐 길이/시간, 유휴 연결 정리
+ * - HTTP/2 우선 (ALPN 협상 실패 시 HTTP/1.1)
+ * - 연결 / 응답 / 읽기·쓰기 타임아웃 (작업별 전체 타임아웃은 GeminiService에서 지정)
+ */
+@Slf4j
+@Configuration
+public class GeminiClientConfig {
+
+    // 오프라인 부하 테스트 시 gemini-stub 프로필의 대역 서버 주소로 변경
+    @Value("${gemini.base-url:https://generativelanguage.googleapis.com/v1beta}")
+    private String baseUrl;
+
+    @Value("${gemini.api-key}")
+    private String apiKey;
+
+    @Value("${gemini.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${gemini.http.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${gemini.http.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${gemini.http.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${gemini.http.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${gemini.http.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${gemini.http.response-timeout:60s}")
+    private Duration responseTimeout;
+
+    @Value("${gemini.http.read-write-timeout:60s}")
+    private Duration readWriteTimeout;
+
+    @Value("${gemini.http.http2:true}")
+    private boolean http2;
+
+    // 3072차원 배치 임베딩 응답은 기본 버퍼(256KB)를 넘음
+    @Value("${gemini.http.max-in-memory-size:16777216}")
+    private int maxInMemorySize;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider geminiConnectionProvider() {
+        return ConnectionProvider.builder("gemini")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient geminiWebClient(WebClient.Builder webClientBuilder, ConnectionProvider geminiConnectionProvider) {
+        // 평문 http(로컬 대역 서버)에서는 ALPN 협상이 없으므로 HTTP/1.1만 사용
+        boolean useHttp2 = http2 && baseUrl.startsWith("https://");
+        HttpClient httpClient = HttpClient.create(geminiConnectionProvider)
+                .protocol(useHttp2 ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11} : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(readWriteTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(readWriteTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+
+        log.info("Gemini WebClient configured - BaseUrl: {}, MaxConnections: {}, HTTP/2: {}", baseUrl, maxConnections, useHttp2);
+        return webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .defaultHeader("x-goog-api-key", apiKey)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .build();
+    }
+}
@@ -48,6 +48,9 @@ public class SecurityConfig {
                     // 1. 공개 경로 (로그인, 헬스체크)
                     auth.requestMatchers("/api/v1/auth/**", "/health", "/actuator/**", "/error").permitAll();
 
+                    // 1-1. Gemini 대역 서버 (gemini-stub 프로필에서만 존재, 앱이 자기 자신을 호출)
+                    auth.requestMatchers("/gemini-stub/**").permitAll();
+
                     // 2. OPTIONS 요청 (Preflight) 허용
                     auth.requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll();
 
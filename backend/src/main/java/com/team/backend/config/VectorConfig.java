@@ -0,0 +1,24 @@
+package com.team.backend.config;
+
+import com.team.backend.vector.SimilarityKernel;
+import com.team.backend.vector.SimilarityKernels;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 벡터 검색 관련 설정
+ * - 유사도 커널 선택 (vector.kernel: auto | simd | scalar)
+ */
+@Slf4j
+@Configuration
+public class VectorConfig {
+
+    @Bean
+    public SimilarityKernel similarityKernel(@Value("${vector.kernel:auto}") String mode) {
+        SimilarityKernel kernel = SimilarityKernels.create(mode);
+        log.info("Similarity kernel selected: {}", kernel.name());
+        return kernel;
+    }
+}
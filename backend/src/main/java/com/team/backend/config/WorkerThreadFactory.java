@@ -0,0 +1,36 @@
+package com.team.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 백그라운드 작업(임베딩 아웃박스, 백필, 배처) 스레드 생성
+ * spring.threads.virtual.enabled=true면 Tomcat 요청 처리와 함께 가상 스레드 사용, 아니면 데몬 플랫폼 스레드
+ * (동시 실행 수는 각 풀의 크기 / 세마포어로 따로 제한)
+ */
+@Component
+public class WorkerThreadFactory {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtual;
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory named(String name) {
+        if (virtual) {
+            return Thread.ofVirtual().name(name + "-", 0).factory();
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -3,6 +3,7 @@ package com.team.backend.controller;
 import com.team.backend.annotation.LoginUser;
 import com.team.backend.dto.EmotionRecordRequest;
 import com.team.backend.dto.EmotionRecordResponse; // [추가]
+import com.team.backend.dto.RecordPageResponse;
 import com.team.backend.entity.User;
 import com.team.backend.service.DiaryService;
 import lombok.RequiredArgsConstructor;
@@ -73,6 +74,17 @@ public class DiaryController {
         return ResponseEntity.ok(responses);
     }
 
+    // 타임라인 (커서 기반 무한 스크롤)
+    // 첫 요청은 cursor 없이, 이후에는 응답의 nextCursor를 그대로 전달 (?cursor=...&size=20)
+    @GetMapping
+    public ResponseEntity<RecordPageResponse> getTimeline(
+            @LoginUser User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(diaryService.getTimeline(user, cursor, size));
+    }
+
     // 최근 기록 5개
     @GetMapping("/recent")
     public ResponseEntity<List<EmotionRecordResponse>> getRecentRecords(@LoginUser User user) {
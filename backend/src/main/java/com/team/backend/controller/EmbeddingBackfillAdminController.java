@@ -0,0 +1,57 @@
+package com.team.backend.controller;
+
+import com.team.backend.annotation.LoginUser;
+import com.team.backend.entity.User;
+import com.team.backend.security.AdminGuard;
+import com.team.backend.service.EmbeddingBackfillService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 임베딩 백필 작업 운영 API (관리자 전용)
+ */
+@RestController
+@RequestMapping("/api/v1/admin/embedding-backfill")
+@RequiredArgsConstructor
+public class EmbeddingBackfillAdminController {
+
+    private final EmbeddingBackfillService embeddingBackfillService;
+    private final AdminGuard adminGuard;
+
+    /**
+     * 백필 시작 / 일시정지된 작업 재개
+     * POST /api/v1/admin/embedding-backfill/start?force=false
+     * force=true: 차원이 같아도 전부 다시 임베딩 (모델·taskType 변경 시)
+     */
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(
+            @LoginUser User user,
+            @RequestParam(defaultValue = "false") boolean force
+    ) {
+        adminGuard.check(user);
+        return ResponseEntity.ok(embeddingBackfillService.start(force));
+    }
+
+    /**
+     * 일시정지 (현재 페이지까지 처리 후 멈춤)
+     * POST /api/v1/admin/embedding-backfill/pause
+     */
+    @PostMapping("/pause")
+    public ResponseEntity<Map<String, Object>> pause(@LoginUser User user) {
+        adminGuard.check(user);
+        return ResponseEntity.ok(embeddingBackfillService.pause());
+    }
+
+    /**
+     * 진행 상황
+     * GET /api/v1/admin/embedding-backfill/status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus(@LoginUser User user) {
+        adminGuard.check(user);
+        return ResponseEntity.ok(embeddingBackfillService.getStatus());
+    }
+}
@@ -5,9 +5,13 @@ import com.team.backend.dto.SolutionRequest;
 import com.team.backend.dto.SolutionResponse;
 import com.team.backend.entity.User;
 import com.team.backend.service.SolutionService;
+import com.team.backend.service.SolutionSingleFlight;
+import com.team.backend.service.SolutionStreamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -17,17 +21,30 @@ import java.util.Map;
 public class SolutionController {
 
     private final SolutionService solutionService;
+    private final SolutionStreamService solutionStreamService;
+    private final SolutionSingleFlight solutionSingleFlight;
 
-    // 5.1 솔루션 생성
+    // 5.1 솔루션 생성 (같은 일기에 대한 동시 / 연속 요청은 한 번만 생성)
     @PostMapping("/generate")
     public ResponseEntity<SolutionResponse> generateSolution(
             @LoginUser User user,
             @RequestBody SolutionRequest request
     ) {
-        SolutionResponse response = solutionService.generateSolution(user, request.getRecordId());
+        SolutionResponse response = solutionSingleFlight.generate(user, request.getRecordId());
         return ResponseEntity.ok(response);
     }
 
+    // 5.1-1 솔루션 생성 (스트리밍)
+    // 이벤트: token(텍스트 조각) → done(SolutionResponse) / error
+    // 같은 일기에 대한 중복 요청은 진행 중인 생성을 함께 구독 (생성 직후 재요청은 저장된 결과로 바로 done)
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSolution(
+            @LoginUser User user,
+            @RequestBody SolutionRequest request
+    ) {
+        return solutionStreamService.streamSolution(user, request.getRecordId());
+    }
+
     // 5.2 솔루션 평가
     @PostMapping("/{solutionId}/feedback")
     public ResponseEntity<Map<String, Boolean>> evaluateSolution(
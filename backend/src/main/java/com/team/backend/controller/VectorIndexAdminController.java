@@ -0,0 +1,52 @@
+package com.team.backend.controller;
+
+import com.team.backend.annotation.LoginUser;
+import com.team.backend.entity.User;
+import com.team.backend.security.AdminGuard;
+import com.team.backend.service.VectorIndexAdminService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 벡터 인덱스 운영 API (관리자 전용)
+ */
+@RestController
+@RequestMapping("/api/v1/admin/vector-index")
+@RequiredArgsConstructor
+public class VectorIndexAdminController {
+
+    private final VectorIndexAdminService vectorIndexAdminService;
+    private final AdminGuard adminGuard;
+
+    /**
+     * 캐시 현황
+     * GET /api/v1/admin/vector-index/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats(@LoginUser User user) {
+        adminGuard.check(user);
+        return ResponseEntity.ok(vectorIndexAdminService.getCacheStats());
+    }
+
+    /**
+     * 근사 인덱스 vs 전수 비교 recall 측정
+     * GET /api/v1/admin/vector-index/recall?userId=1&type=hnsw&k=10&samples=100&efSearch=64
+     * GET /api/v1/admin/vector-index/recall?userId=1&type=int8&k=10&rerankCandidates=40
+     */
+    @GetMapping("/recall")
+    public ResponseEntity<Map<String, Object>> evaluateRecall(
+            @LoginUser User user,
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "hnsw") String type,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "100") int samples,
+            @RequestParam(defaultValue = "64") int efSearch,
+            @RequestParam(defaultValue = "40") int rerankCandidates
+    ) {
+        adminGuard.check(user);
+        return ResponseEntity.ok(vectorIndexAdminService.evaluateRecall(userId, type, k, samples, efSearch, rerankCandidates));
+    }
+}
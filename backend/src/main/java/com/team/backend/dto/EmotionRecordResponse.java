@@ -2,6 +2,7 @@ package com.team.backend.dto;
 
 import com.team.backend.entity.EmotionRecord;
 import com.team.backend.entity.Solution;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@AllArgsConstructor
 public class EmotionRecordResponse {
     private Long id;
     private String emotionType; // [수정 후] 이름을 emotionType으로 변경
@@ -25,6 +27,18 @@ public class EmotionRecordResponse {
         private Integer evaluation;
     }
 
+    /**
+     * 목록 조회 JPQL 생성자 표현식용 (일기 + LEFT JOIN 솔루션 컬럼을 한 행으로 받음, 솔루션이 없으면 solution = null)
+     */
+    public EmotionRecordResponse(Long id, String emotionType, Integer level, LocalDateTime timestamp, String reason,
+                                 Long solutionId, String solutionContent, Integer solutionEvaluation) {
+        this(id, emotionType, level, timestamp, reason, solutionId == null ? null : SolutionInfo.builder()
+                .id(solutionId)
+                .content(solutionContent)
+                .evaluation(solutionEvaluation)
+                .build());
+    }
+
     public static EmotionRecordResponse from(EmotionRecord record, Solution solutionEntity) {
         SolutionInfo solutionInfo = null;
         if (solutionEntity != null) {
@@ -0,0 +1,18 @@
+package com.team.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 타임라인 한 페이지 (최신순)
+ * nextCursor를 다음 요청의 cursor로 넘기면 이어서 조회, 마지막 페이지면 null
+ */
+@Getter
+@AllArgsConstructor
+public class RecordPageResponse {
+    private List<EmotionRecordResponse> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
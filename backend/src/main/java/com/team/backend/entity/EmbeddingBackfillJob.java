@@ -0,0 +1,108 @@
+package com.team.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 임베딩 일괄 재생성(백필) 작업 상태 + 체크포인트
+ * record_id 순으로 진행하며 페이지마다 last_record_id를 저장하므로 재시작해도 이어서 진행
+ * 임대 컬럼(lease_owner / lease_until)은 매핑하지 않고 EmbeddingBackfillService가 JDBC로만 다룸
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "EMBEDDING_BACKFILL_JOBS")
+public class EmbeddingBackfillJob {
+
+    public enum Status { RUNNING, PAUSED, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    // true면 차원/모델이 같아도 전부 다시 임베딩 (모델·taskType 변경 시)
+    @Column(nullable = false)
+    private Boolean force;
+
+    @Column(name = "target_model", nullable = false, length = 64)
+    private String targetModel;
+
+    @Column(name = "target_dimension", nullable = false)
+    private Integer targetDimension;
+
+    // 체크포인트: 여기까지 처리 완료 (다음 페이지는 record_id > last_record_id)
+    @Column(name = "last_record_id", nullable = false)
+    private Long lastRecordId;
+
+    @Column(name = "total_records", nullable = false)
+    private Long totalRecords;
+
+    @Column(nullable = false)
+    private Long processed;
+
+    @Column(nullable = false)
+    private Long skipped;
+
+    @Column(nullable = false)
+    private Long failed;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "started_at", updatable = false)
+    private LocalDateTime startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public static EmbeddingBackfillJob start(boolean force, String targetModel, int targetDimension, long totalRecords) {
+        return EmbeddingBackfillJob.builder()
+                .status(Status.RUNNING)
+                .force(force)
+                .targetModel(targetModel)
+                .targetDimension(targetDimension)
+                .lastRecordId(0L)
+                .totalRecords(totalRecords)
+                .processed(0L)
+                .skipped(0L)
+                .failed(0L)
+                .build();
+    }
+
+    public void advance(long lastRecordId, int processed, int skipped, int failed) {
+        this.lastRecordId = lastRecordId;
+        this.processed += processed;
+        this.skipped += skipped;
+        this.failed += failed;
+    }
+
+    public void pause() {
+        this.status = Status.PAUSED;
+    }
+
+    public void complete() {
+        this.status = Status.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void fail(String error) {
+        this.status = Status.FAILED;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,52 @@
+package com.team.backend.entity;
+
+import com.team.backend.vector.EmbeddingConverter;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 임베딩 캐시 (영속 계층)
+ * 같은 (모델, taskType, 차원, 입력 텍스트 SHA-256)이면 Gemini를 다시 호출하지 않고 재사용
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "EMBEDDING_CACHE", uniqueConstraints = @UniqueConstraint(
+        name = "uk_embedding_cache_key",
+        columnNames = {"model", "task_type", "dimension", "content_hash"}))
+public class EmbeddingCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "cache_id")
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String model;
+
+    @Column(name = "task_type", nullable = false, length = 32)
+    private String taskType;
+
+    @Column(nullable = false)
+    private Integer dimension;
+
+    // 입력 텍스트의 SHA-256 (hex)
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    // 정규화된 벡터 (포맷: VectorCodec)
+    @Convert(converter = EmbeddingConverter.class)
+    @Column(columnDefinition = "bytea", nullable = false)
+    private float[] embedding;
+
+    @Column(name = "embedding_norm", nullable = false)
+    private Float embeddingNorm;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
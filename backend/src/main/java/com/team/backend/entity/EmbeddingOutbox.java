@@ -0,0 +1,53 @@
+package com.team.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 임베딩 작업 아웃박스
+ * 일기 저장/수정 트랜잭션에서 함께 INSERT 되고, 백그라운드 워커가 임베딩을 채운 뒤 삭제
+ * (기록이 먼저 삭제된 경우 워커가 행만 정리)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "EMBEDDING_OUTBOX", indexes = {
+        @Index(name = "idx_embedding_outbox_next_attempt", columnList = "next_attempt_at"),
+        @Index(name = "idx_embedding_outbox_record", columnList = "record_id")
+})
+public class EmbeddingOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(name = "record_id", nullable = false)
+    private Long recordId;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // 이 시각 이후에 처리 (재시도 백오프 / 처리 중 임대(lease) 만료 시각)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public static EmbeddingOutbox pending(Long recordId) {
+        return EmbeddingOutbox.builder()
+                .recordId(recordId)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-@Table(name = "EMOTION_RECORDS")
+@Table(name = "EMOTION_RECORDS", indexes = @Index(name = "idx_emotion_records_user_recorded_at_desc", columnList = "user_id, recorded_at DESC, record_id DESC"))
 public class EmotionRecord {
 
     @Id
@@ -38,8 +38,13 @@ public class EmotionRecord {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
-    @Column(columnDefinition = "TEXT")
-    private String embedding;
+    // 임베딩은 RECORD_EMBEDDINGS 테이블에 따로 보관 (일기 조회 시 벡터를 읽지 않도록)
+
+    // 낙관적 잠금 버전 (내용 수정 시 증가, 솔루션 저장 시 생성 도중 수정 여부 확인용)
+    // 기존 행은 0으로 채움 (db/migration V9)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 
     public void update(String emotionType, Integer level, String reason) {
         if (emotionType != null) this.emotionType = emotionType;
@@ -47,10 +52,4 @@ public class EmotionRecord {
         if (reason != null) this.reason = reason;
         // recordedAt은 수정 불가 (정책상)
     }
-
-    // ... update 메서드 유지
-    // 임베딩 업데이트 메서드
-    public void updateEmbedding(String embedding) {
-        this.embedding = embedding;
-    }
-}
\ No newline at end of file
+}
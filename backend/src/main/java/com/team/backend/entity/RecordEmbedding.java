@@ -0,0 +1,56 @@
+package com.team.backend.entity;
+
+import com.team.backend.vector.EmbeddingConverter;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 일기 임베딩 (EMOTION_RECORDS에서 분리)
+ * - (일기, 모델, taskType)당 한 행: 저장용(RETRIEVAL_DOCUMENT) / 검색 쿼리용(RETRIEVAL_QUERY)
+ * - 검색 경로(벡터 인덱스 로딩 / 유사도 계산)에서만 읽고, 일기 조회·수정 시에는 벡터를 읽지 않음
+ * - 쓰기는 RecordEmbeddingRepository의 native upsert로 처리
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "RECORD_EMBEDDINGS", uniqueConstraints = @UniqueConstraint(
+        name = "uk_record_embeddings_key",
+        columnNames = {"record_id", "model", "task_type"}))
+public class RecordEmbedding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "embedding_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "record_id", nullable = false)
+    private EmotionRecord record;
+
+    @Column(nullable = false, length = 64)
+    private String model;
+
+    @Column(name = "task_type", nullable = false, length = 32)
+    private String taskType;
+
+    // 임베딩 차원 (outputDimensionality) - 같은 차원끼리만 비교
+    @Column(nullable = false)
+    private Integer dimension;
+
+    // little-endian float32 바이너리 (포맷: VectorCodec), 길이 1로 정규화된 벡터
+    @Convert(converter = EmbeddingConverter.class)
+    @Column(columnDefinition = "bytea", nullable = false)
+    private float[] embedding;
+
+    // 정규화 전 원본 벡터의 L2 norm
+    @Column(name = "embedding_norm")
+    private Float embeddingNorm;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -38,6 +38,11 @@ public class Solution {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // 낙관적 잠금 버전 (재생성 upsert 시에도 증가 → 이전 내용에 대한 평가가 덮어쓰지 않도록)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     // 점수 업데이트 편의 메서드
     public void updateScore(Integer score) {
         this.evalScore = score;
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-@Table(name = "SOLUTION_LOGS")
+// 평가된 로그용 부분 인덱스(idx_solution_logs_rated)는 db/migration/V13에만 있음
+@Table(name = "SOLUTION_LOGS", indexes = @Index(name = "idx_solution_logs_record_created", columnList = "record_id, created_at DESC"))
 public class SolutionLog {
 
     @Id
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-@Table(name = "USERS")
+@Table(name = "USERS", indexes = @Index(name = "idx_users_email", columnList = "email"))
 public class User {
 
     @Id
@@ -0,0 +1,17 @@
+package com.team.backend.exception;
+
+/**
+ * 동시 수정으로 요청을 반영할 수 없을 때 발생하는 예외 (409)
+ * - 솔루션 생성 도중 일기가 수정됨
+ * - 낙관적 잠금(@Version) 충돌
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,8 +1,10 @@
 package com.team.backend.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -48,6 +50,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    /**
+     * 동시 수정 충돌 예외 처리 (409 Conflict)
+     */
+    @ExceptionHandler({ConflictException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleConflictException(RuntimeException e) {
+        log.warn("Conflict: {}", e.getMessage());
+        String message = e instanceof ConflictException
+                ? e.getMessage() : "다른 요청에 의해 데이터가 변경되었습니다. 다시 시도해주세요.";
+        Map<String, Object> response = buildErrorResponse("CONFLICT", message, HttpStatus.CONFLICT);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     /**
      * JWT 예외 처리 (401 Unauthorized)
      */
@@ -58,6 +72,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    /**
+     * 외부 AI 서비스 장애 / 과부하 예외 처리 (503 Service Unavailable)
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailableException(ServiceUnavailableException e) {
+        log.warn("Service unavailable: {}", e.getMessage());
+        Map<String, Object> response = buildErrorResponse("SERVICE_UNAVAILABLE", e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (e.getRetryAfterSeconds() > 0) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        }
+        return builder.body(response);
+    }
+
     /**
      * 기타 예상하지 못한 예외 처리 (500 Internal Server Error)
      */
@@ -0,0 +1,31 @@
+package com.team.backend.exception;
+
+/**
+ * 외부 AI 서비스를 일시적으로 사용할 수 없을 때 발생하는 예외 (503)
+ * - 서킷 브레이커 OPEN (장애 감지 후 호출 차단 중)
+ * - 동시 호출 한도(벌크헤드 / 적응형 한도) 초과
+ * - Gemini 응답 지연 / 오류
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    // 클라이언트에게 알려줄 재시도 대기 시간 (Retry-After 헤더, 0이면 생략)
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message) {
+        this(message, 0);
+    }
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = 0;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -17,11 +17,20 @@ import java.nio.charset.StandardCharsets;
 /**
  * HTTP 요청/응답 로깅 필터
  * 모든 요청과 응답을 로깅하여 디버깅 용이
+ * (SSE 스트리밍 요청은 응답을 버퍼링하면 안 되므로 제외)
  */
 @Slf4j
 @Component
 public class RequestResponseLoggingFilter extends OncePerRequestFilter {
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return (accept != null && accept.contains("text/event-stream"))
+                || request.getRequestURI().endsWith("/stream")
+                || request.getRequestURI().startsWith("/gemini-stub/"); // 대역 서버 호출은 바깥 요청 로그와 중복
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
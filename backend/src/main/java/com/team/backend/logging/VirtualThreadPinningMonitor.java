@@ -0,0 +1,84 @@
+package com.team.backend.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 가상 스레드 pinning 진단 (가상 스레드 모드에서만 동작)
+ * - JFR jdk.VirtualThreadPinned 이벤트를 스트리밍으로 구독
+ *   (synchronized 블록 / 네이티브 호출 안에서 블로킹되어 캐리어 스레드를 붙잡은 경우)
+ * - 건수는 jvm.threads.virtual.pinned 메트릭, 위치는 스택 상위 프레임으로 로그
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final int LOGGED_FRAMES = 8;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${diagnostics.virtual-thread-pinning.enabled:true}")
+    private boolean enabled;
+
+    // 이 시간 이상 pinning된 경우만 기록
+    @Value("${diagnostics.virtual-thread-pinning.threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+    private Counter pinned;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+
+        pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("캐리어 스레드를 붙잡은 가상 스레드 블로킹 횟수")
+                .register(meterRegistry);
+
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started - Threshold: {}", threshold);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+
+        StringBuilder frames = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> stack = event.getStackTrace().getFrames();
+            for (int i = 0; i < Math.min(LOGGED_FRAMES, stack.size()); i++) {
+                RecordedFrame frame = stack.get(i);
+                frames.append("\n  at ")
+                        .append(frame.getMethod().getType().getName()).append('.')
+                        .append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        log.warn("Virtual thread pinned - Duration: {}ms, Thread: {}{}",
+                event.getDuration().toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                frames);
+    }
+}
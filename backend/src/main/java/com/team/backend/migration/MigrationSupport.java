@@ -0,0 +1,19 @@
+package com.team.backend.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 1회성 마이그레이션 공통 유틸 (information_schema 조회)
+ */
+final class MigrationSupport {
+
+    private MigrationSupport() {
+    }
+
+    static boolean hasColumn(JdbcTemplate jdbcTemplate, String tableName, String columnName) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM information_schema.columns WHERE table_name = ? AND column_name = ?)",
+                Boolean.class, tableName, columnName);
+        return Boolean.TRUE.equals(exists);
+    }
+}
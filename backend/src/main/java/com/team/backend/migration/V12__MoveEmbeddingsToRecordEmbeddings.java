@@ -0,0 +1,102 @@
+package com.team.backend.migration;
+
+import com.team.backend.service.EmbeddingService;
+import com.team.backend.service.GeminiService;
+import com.team.backend.vector.UnitVector;
+import com.team.backend.vector.VectorCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EMOTION_RECORDS의 임베딩 컬럼을 RECORD_EMBEDDINGS로 이관 (Flyway Java 마이그레이션)
+ * - embedding / query_embedding을 각각 RETRIEVAL_DOCUMENT / RETRIEVAL_QUERY 행으로 복사한 뒤 기존 컬럼 삭제
+ * - 복사하면서 정규화와 차원 기록을 함께 처리 (V3 / V4 이전 데이터는 embedding_norm이 NULL이므로 여기서 단위 벡터로 변환)
+ * - JPA 검증 / 웹 서버 기동 전에 Flyway 트랜잭션 하나로 끝나므로 이관 중인 데이터를 요청이 읽지 않음
+ * - 기존 컬럼이 없으면(새 DB, 이미 이관 완료) 아무것도 하지 않음
+ */
+@Slf4j
+@Component
+public class V12__MoveEmbeddingsToRecordEmbeddings extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO record_embeddings (record_id, model, task_type, dimension, embedding, embedding_norm, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, now()) ON CONFLICT (record_id, model, task_type) DO NOTHING";
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        if (!MigrationSupport.hasColumn(jdbcTemplate, "emotion_records", "embedding")) {
+            return; // 이미 이관 완료
+        }
+
+        String model = GeminiService.MODEL_EMBEDDING;
+        log.info("Record embedding migration started - Model: {}", model);
+
+        long lastId = 0L;
+        int documents = 0;
+        int queries = 0;
+        List<Long> skippedIds = new ArrayList<>();
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT record_id, embedding, embedding_norm, query_embedding " +
+                            "FROM emotion_records WHERE record_id > ? " +
+                            "AND (embedding IS NOT NULL OR query_embedding IS NOT NULL) " +
+                            "ORDER BY record_id LIMIT ?",
+                    lastId, BATCH_SIZE);
+            if (rows.isEmpty()) break;
+
+            List<Object[]> batchArgs = new ArrayList<>(rows.size() * 2);
+            for (Map<String, Object> row : rows) {
+                long recordId = ((Number) row.get("record_id")).longValue();
+                lastId = recordId;
+                try {
+                    byte[] document = (byte[]) row.get("embedding");
+                    if (document != null) {
+                        Number norm = (Number) row.get("embedding_norm");
+                        UnitVector unit = norm != null
+                                ? new UnitVector(VectorCodec.decode(document), norm.floatValue()) // 이미 정규화된 행
+                                : UnitVector.normalize(VectorCodec.decode(document));
+                        batchArgs.add(new Object[]{recordId, model, EmbeddingService.TASK_DOCUMENT,
+                                unit.dimension(), VectorCodec.encode(unit.values()), unit.norm()});
+                        documents++;
+                    }
+
+                    byte[] query = (byte[]) row.get("query_embedding");
+                    if (query != null) {
+                        // 쿼리 임베딩은 원래 norm을 보관한 적이 없으므로 정규화만 하고 norm은 비워 둠
+                        UnitVector unit = UnitVector.normalize(VectorCodec.decode(query));
+                        batchArgs.add(new Object[]{recordId, model, EmbeddingService.TASK_QUERY,
+                                unit.dimension(), VectorCodec.encode(unit.values()), null});
+                        queries++;
+                    }
+                } catch (IllegalArgumentException e) {
+                    // 헤더가 깨진 임베딩은 버림 (임베딩 백필 / 다음 솔루션 생성 시 다시 만들어짐)
+                    log.warn("Record embedding migration skipped - RecordId: {}, Error: {}", recordId, e.getMessage());
+                    skippedIds.add(recordId);
+                }
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE emotion_records " +
+                "DROP COLUMN IF EXISTS embedding, DROP COLUMN IF EXISTS embedding_norm, " +
+                "DROP COLUMN IF EXISTS embedding_dim, DROP COLUMN IF EXISTS query_embedding");
+
+        log.info("Record embedding migration finished - Documents: {}, Queries: {}, Skipped: {}",
+                documents, queries, skippedIds.size());
+        if (!skippedIds.isEmpty()) {
+            log.warn("Record embedding migration dropped unreadable embeddings - RecordIds: {}", skippedIds);
+        }
+    }
+}
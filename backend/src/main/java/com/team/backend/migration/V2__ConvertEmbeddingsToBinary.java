@@ -0,0 +1,90 @@
+package com.team.backend.migration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.backend.vector.VectorCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EMOTION_RECORDS.embedding 컬럼 마이그레이션 (JSON TEXT -> float32 bytea)
+ * - Flyway Java 마이그레이션: JPA 검증 / 웹 서버 기동 전에 끝나므로 변환 중인 행을 요청이 읽지 않음
+ * - 기존 컬럼이 TEXT일 때만 동작하고, 이미 bytea거나 컬럼이 없으면 아무것도 하지 않음
+ * - embedding_bin 임시 컬럼에 변환 결과를 채운 뒤 컬럼을 교체 (Flyway 트랜잭션 하나로 처리)
+ * - 파싱 불가한 임베딩은 NULL이 되며, 건너뛴 record_id를 모두 로그로 남김
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class V2__ConvertEmbeddingsToBinary extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        String columnType = findColumnType(jdbcTemplate, "embedding");
+        if (columnType == null || "bytea".equals(columnType)) {
+            return; // 컬럼이 없거나 이미 변환 완료
+        }
+
+        log.info("Embedding migration started (embedding column type: {})", columnType);
+        jdbcTemplate.execute("ALTER TABLE emotion_records ADD COLUMN IF NOT EXISTS embedding_bin bytea");
+
+        long lastId = 0L;
+        int converted = 0;
+        List<Long> skippedIds = new ArrayList<>();
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT record_id, embedding FROM emotion_records " +
+                            "WHERE record_id > ? AND embedding IS NOT NULL " +
+                            "ORDER BY record_id LIMIT ?",
+                    lastId, BATCH_SIZE);
+            if (rows.isEmpty()) break;
+
+            List<Object[]> batchArgs = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                long recordId = ((Number) row.get("record_id")).longValue();
+                lastId = recordId;
+                try {
+                    float[] vector = objectMapper.readValue((String) row.get("embedding"), float[].class);
+                    batchArgs.add(new Object[]{VectorCodec.encode(vector), recordId});
+                } catch (Exception e) {
+                    // 파싱 불가한 임베딩은 버림 (임베딩 백필 / 다음 솔루션 생성 시 다시 만들어짐)
+                    log.warn("Embedding migration skipped - RecordId: {}, Error: {}", recordId, e.getMessage());
+                    skippedIds.add(recordId);
+                }
+            }
+
+            jdbcTemplate.batchUpdate("UPDATE emotion_records SET embedding_bin = ? WHERE record_id = ?", batchArgs);
+            converted += batchArgs.size();
+        }
+
+        jdbcTemplate.execute("ALTER TABLE emotion_records DROP COLUMN embedding");
+        jdbcTemplate.execute("ALTER TABLE emotion_records RENAME COLUMN embedding_bin TO embedding");
+
+        log.info("Embedding migration finished - Converted: {}, Skipped: {}", converted, skippedIds.size());
+        if (!skippedIds.isEmpty()) {
+            log.warn("Embedding migration dropped unparseable embeddings - RecordIds: {}", skippedIds);
+        }
+    }
+
+    private String findColumnType(JdbcTemplate jdbcTemplate, String columnName) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns " +
+                        "WHERE table_name = 'emotion_records' AND column_name = ?",
+                String.class, columnName);
+        return types.isEmpty() ? null : types.get(0);
+    }
+}
@@ -0,0 +1,15 @@
+package com.team.backend.repository;
+
+import com.team.backend.entity.EmbeddingBackfillJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface EmbeddingBackfillJobRepository extends JpaRepository<EmbeddingBackfillJob, Long> {
+
+    // 진행 중이거나 일시정지된 최근 작업 (재시작 시 이어서 진행)
+    Optional<EmbeddingBackfillJob> findFirstByStatusInOrderByIdDesc(Collection<EmbeddingBackfillJob.Status> statuses);
+
+    Optional<EmbeddingBackfillJob> findFirstByOrderByIdDesc();
+}
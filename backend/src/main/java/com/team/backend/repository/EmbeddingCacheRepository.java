@@ -0,0 +1,35 @@
+package com.team.backend.repository;
+
+import com.team.backend.entity.EmbeddingCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface EmbeddingCacheRepository extends JpaRepository<EmbeddingCacheEntry, Long> {
+
+    Optional<EmbeddingCacheEntry> findByModelAndTaskTypeAndDimensionAndContentHash(
+            String model,
+            String taskType,
+            Integer dimension,
+            String contentHash
+    );
+
+    // 동시에 같은 텍스트를 임베딩한 경우 먼저 들어간 행을 유지 (unique 충돌 예외 없이)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO embedding_cache (model, task_type, dimension, content_hash, embedding, embedding_norm, created_at) " +
+            "VALUES (:model, :taskType, :dimension, :contentHash, :embedding, :embeddingNorm, now()) " +
+            "ON CONFLICT (model, task_type, dimension, content_hash) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("model") String model,
+            @Param("taskType") String taskType,
+            @Param("dimension") Integer dimension,
+            @Param("contentHash") String contentHash,
+            @Param("embedding") byte[] embedding,
+            @Param("embeddingNorm") Float embeddingNorm
+    );
+}
@@ -0,0 +1,10 @@
+package com.team.backend.repository;
+
+import com.team.backend.entity.EmbeddingOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EmbeddingOutboxRepository extends JpaRepository<EmbeddingOutbox, Long> {
+
+    // 일기 삭제 시 남은 임베딩 작업 정리
+    void deleteAllByRecordId(Long recordId);
+}
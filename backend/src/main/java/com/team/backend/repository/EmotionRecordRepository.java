@@ -1,27 +1,69 @@
 package com.team.backend.repository;
 
+import com.team.backend.dto.EmotionRecordResponse;
 import com.team.backend.entity.EmotionRecord;
 import com.team.backend.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface EmotionRecordRepository extends JpaRepository<EmotionRecord, Long> {
 
     // 특정 유저의 특정 기간(start ~ end) 기록 조회 (최신순 정렬)
-    List<EmotionRecord> findAllByUserAndRecordedAtBetweenOrderByRecordedAtDesc(
-            User user,
-            LocalDateTime start,
-            LocalDateTime end
+    // 목록 화면용: 일기 + 솔루션을 LEFT JOIN 한 번으로 조회해 바로 응답 DTO로 (일기마다 솔루션을 따로 조회하지 않음)
+    // 화면에 표시하는 컬럼만 읽음
+    @Query("select new com.team.backend.dto.EmotionRecordResponse(" +
+            "r.id, r.emotionType, r.level, r.recordedAt, r.reason, s.id, s.content, s.evalScore) " +
+            "from EmotionRecord r left join Solution s on s.emotionRecord = r " +
+            "where r.user.id = :userId and r.recordedAt between :start and :end " +
+            "order by r.recordedAt desc")
+    List<EmotionRecordResponse> findResponsesByUserIdAndRecordedAtBetween(
+            @Param("userId") Long userId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
     );
-    // 최근 기록 5개 조회 (Top5)
-    List<EmotionRecord> findTop5ByUserOrderByRecordedAtDesc(User user);
 
+    // 최근 기록 N개 조회 (솔루션 포함, 위와 같은 프로젝션)
+    @Query("select new com.team.backend.dto.EmotionRecordResponse(" +
+            "r.id, r.emotionType, r.level, r.recordedAt, r.reason, s.id, s.content, s.evalScore) " +
+            "from EmotionRecord r left join Solution s on s.emotionRecord = r " +
+            "where r.user.id = :userId " +
+            "order by r.recordedAt desc")
+    List<EmotionRecordResponse> findRecentResponsesByUserId(@Param("userId") Long userId, Limit limit);
 
-    //임베딩이 있는 내 과거 기록들 모두 조회 (유사도 계산용)
-    // 단, 현재 작성 중인 일기(targetId)는 제외하고 가져옴
-    List<EmotionRecord> findAllByUserAndEmbeddingIsNotNullAndIdNot(User user, Long recordId);
+    // 타임라인 첫 페이지 (recorded_at, record_id 역순)
+    // (user_id, recorded_at DESC, record_id DESC) 인덱스를 순서대로 읽고 limit에서 멈춤
+    @Query("select new com.team.backend.dto.EmotionRecordResponse(" +
+            "r.id, r.emotionType, r.level, r.recordedAt, r.reason, s.id, s.content, s.evalScore) " +
+            "from EmotionRecord r left join Solution s on s.emotionRecord = r " +
+            "where r.user.id = :userId " +
+            "order by r.recordedAt desc, r.id desc")
+    List<EmotionRecordResponse> findTimelineByUserId(@Param("userId") Long userId, Limit limit);
+
+    // 타임라인 다음 페이지: 커서(마지막으로 본 기록) 바로 뒤부터 (OFFSET 없이 인덱스 위치로 바로 이동)
+    @Query("select new com.team.backend.dto.EmotionRecordResponse(" +
+            "r.id, r.emotionType, r.level, r.recordedAt, r.reason, s.id, s.content, s.evalScore) " +
+            "from EmotionRecord r left join Solution s on s.emotionRecord = r " +
+            "where r.user.id = :userId and (r.recordedAt, r.id) < (:recordedAt, :recordId) " +
+            "order by r.recordedAt desc, r.id desc")
+    List<EmotionRecordResponse> findTimelineByUserIdBefore(
+            @Param("userId") Long userId,
+            @Param("recordedAt") LocalDateTime recordedAt,
+            @Param("recordId") Long recordId,
+            Limit limit
+    );
+
+    // 솔루션 저장 단계용 조회: 커밋 시점에 버전을 다시 확인 (그 사이 수정됐으면 낙관적 잠금 예외)
+    @Lock(LockModeType.OPTIMISTIC)
+    @Query("select r from EmotionRecord r where r.id = :id")
+    Optional<EmotionRecord> findWithVersionCheckById(@Param("id") Long id);
 
     // 회원 탈퇴 시 해당 유저의 모든 기록 조회용
     List<EmotionRecord> findAllByUser(User user);
@@ -0,0 +1,12 @@
+package com.team.backend.repository;
+
+/**
+ * 프롬프트 구성용 프로젝션 (평가된 과거 조언의 일기 ID + 내용 + 점수만 조회)
+ */
+public interface RatedSolutionLogView {
+    Long getRecordId();
+
+    String getContent();
+
+    Integer getEvalScore();
+}
@@ -0,0 +1,77 @@
+package com.team.backend.repository;
+
+import com.team.backend.entity.RecordEmbedding;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface RecordEmbeddingRepository extends JpaRepository<RecordEmbedding, Long> {
+
+    // 임베딩이 있는 내 기록의 (ID, 임베딩)만 커서로 흘려보냄 (유사도 계산 / 벡터 인덱스 로딩용)
+    // 같은 모델 / taskType / 차원의 임베딩만 대상 (설정 변경 후 재임베딩 전인 행은 제외)
+    // 트랜잭션 안에서 호출하고, 사용 후 반드시 close 해야 함 (try-with-resources)
+    @Query("select e.record.id as id, e.embedding as embedding from RecordEmbedding e " +
+            "where e.record.user.id = :userId and e.model = :model and e.taskType = :taskType and e.dimension = :dimension")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<RecordEmbeddingView> streamByUserId(
+            @Param("userId") Long userId,
+            @Param("model") String model,
+            @Param("taskType") String taskType,
+            @Param("dimension") Integer dimension
+    );
+
+    // 지정한 기록들의 원본 임베딩 (양자화 인덱스 검색 결과 re-rank용)
+    @Query("select e.record.id as id, e.embedding as embedding from RecordEmbedding e " +
+            "where e.record.id in :recordIds and e.model = :model and e.taskType = :taskType")
+    List<RecordEmbeddingView> findByRecordIdIn(
+            @Param("recordIds") Collection<Long> recordIds,
+            @Param("model") String model,
+            @Param("taskType") String taskType
+    );
+
+    // 한 기록의 특정 임베딩 (솔루션 생성 시 보관된 쿼리 임베딩 재사용)
+    @Query("select e from RecordEmbedding e where e.record.id = :recordId and e.model = :model and e.taskType = :taskType")
+    Optional<RecordEmbedding> findByKey(
+            @Param("recordId") Long recordId,
+            @Param("model") String model,
+            @Param("taskType") String taskType
+    );
+
+    // (기록, 모델, taskType)당 한 행 upsert
+    @Modifying
+    @Query(value = "INSERT INTO record_embeddings (record_id, model, task_type, dimension, embedding, embedding_norm, updated_at) " +
+            "VALUES (:recordId, :model, :taskType, :dimension, :embedding, :embeddingNorm, now()) " +
+            "ON CONFLICT (record_id, model, task_type) DO UPDATE SET dimension = EXCLUDED.dimension, " +
+            "embedding = EXCLUDED.embedding, embedding_norm = EXCLUDED.embedding_norm, updated_at = now()", nativeQuery = true)
+    int upsert(
+            @Param("recordId") Long recordId,
+            @Param("model") String model,
+            @Param("taskType") String taskType,
+            @Param("dimension") Integer dimension,
+            @Param("embedding") byte[] embedding,
+            @Param("embeddingNorm") Float embeddingNorm
+    );
+
+    // 일기 내용 변경 / 삭제 시 모든 임베딩 제거
+    @Modifying
+    @Query("delete from RecordEmbedding e where e.record.id = :recordId")
+    int deleteAllByRecordId(@Param("recordId") Long recordId);
+
+    // 회원 탈퇴 시 해당 유저의 모든 임베딩 제거
+    @Modifying
+    @Query(value = "DELETE FROM record_embeddings WHERE record_id IN (SELECT record_id FROM emotion_records WHERE user_id = :userId)",
+            nativeQuery = true)
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
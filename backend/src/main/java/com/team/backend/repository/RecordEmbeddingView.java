@@ -0,0 +1,11 @@
+package com.team.backend.repository;
+
+/**
+ * 유사도 검색용 프로젝션 (레코드 ID + 임베딩만 조회)
+ * reason 텍스트, User 프록시 등 엔티티 전체를 만들지 않기 위해 사용
+ */
+public interface RecordEmbeddingView {
+    Long getId();
+
+    float[] getEmbedding();
+}
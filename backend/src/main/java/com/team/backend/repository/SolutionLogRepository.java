@@ -3,7 +3,10 @@ package com.team.backend.repository;
 import com.team.backend.entity.EmotionRecord;
 import com.team.backend.entity.SolutionLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SolutionLogRepository extends JpaRepository<SolutionLog, Long> {
@@ -14,4 +17,16 @@ public interface SolutionLogRepository extends JpaRepository<SolutionLog, Long>
 
     // [추가] 가장 최근에 생성된 해당 일기의 로그 하나 가져오기
     java.util.Optional<SolutionLog> findTopByEmotionRecordOrderByCreatedAtDesc(EmotionRecord emotionRecord);
-}
\ No newline at end of file
+
+    // 여러 일기의 평가된(점수 > 0) 로그를 한 번에 조회, 일기마다 최신순 perRecord건까지
+    // 부분 인덱스 idx_solution_logs_rated (record_id, created_at DESC) WHERE eval_score > 0 로 일기별 범위만 읽음
+    @Query(value = "SELECT ranked.record_id AS \"recordId\", ranked.content AS \"content\", ranked.eval_score AS \"evalScore\" " +
+            "FROM (SELECT l.record_id, l.content, l.eval_score, l.created_at, " +
+            "             ROW_NUMBER() OVER (PARTITION BY l.record_id ORDER BY l.created_at DESC) AS rn " +
+            "      FROM solution_logs l " +
+            "      WHERE l.record_id IN (:recordIds) AND l.eval_score > 0) ranked " +
+            "WHERE ranked.rn <= :perRecord " +
+            "ORDER BY ranked.record_id, ranked.created_at DESC", nativeQuery = true)
+    List<RatedSolutionLogView> findRatedByRecordIds(@Param("recordIds") Collection<Long> recordIds,
+                                                    @Param("perRecord") int perRecord);
+}
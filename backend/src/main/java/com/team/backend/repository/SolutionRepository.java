@@ -3,6 +3,9 @@ package com.team.backend.repository;
 import com.team.backend.entity.EmotionRecord;
 import com.team.backend.entity.Solution;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -11,4 +14,15 @@ public interface SolutionRepository extends JpaRepository<Solution, Long> {
 
     // [추가] 특정 일기에 연결된 솔루션 삭제
     void deleteByEmotionRecord(EmotionRecord emotionRecord);
-}
\ No newline at end of file
+
+    // 일기당 솔루션 하나: 조회 후 insert 대신 한 문장으로 upsert (동시 생성 시 unique 충돌 없음, 재생성이면 점수 초기화)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO solutions (record_id, content, eval_score, created_at, updated_at, version) " +
+            "VALUES (:recordId, :content, 0, now(), now(), 0) " +
+            "ON CONFLICT (record_id) DO UPDATE SET content = EXCLUDED.content, eval_score = 0, updated_at = now(), " +
+            "version = solutions.version + 1", nativeQuery = true)
+    int upsertContent(@Param("recordId") Long recordId, @Param("content") String content);
+
+    @Query("SELECT s.id FROM Solution s WHERE s.emotionRecord.id = :recordId")
+    Optional<Long> findIdByRecordId(@Param("recordId") Long recordId);
+}
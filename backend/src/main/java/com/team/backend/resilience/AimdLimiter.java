@@ -0,0 +1,68 @@
+package com.team.backend.resilience;
+
+/**
+ * 지연 시간 기반 적응형 동시 호출 한도 (AIMD: Additive Increase / Multiplicative Decrease)
+ * - 응답이 latencyThreshold 안에 오면 한도를 조금씩 올림 (+1 / 현재 한도, 즉 한도만큼 성공하면 +1)
+ * - 느리거나 실패하면 한도를 backoffRatio 배로 줄임
+ * - 한도는 [minLimit, maxLimit] 범위, maxLimit은 벌크헤드 크기와 같게 둠
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) return false;
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        inFlight--;
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * 타임아웃 / 과부하(429, 5xx) 등 공급자 쪽 문제로 실패
+     */
+    public synchronized void onDropped() {
+        inFlight--;
+        decrease();
+    }
+
+    /**
+     * 한도와 무관한 종료 (취소, 클라이언트 오류)
+     */
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
@@ -0,0 +1,34 @@
+package com.team.backend.resilience;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * 벌크헤드 (작업 종류별 고정 동시 호출 상한)
+ * 임베딩과 채팅이 서로의 자리를 잡아먹지 않도록 분리, 자리가 없으면 기다리지 않고 즉시 거절
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    public Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int inUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
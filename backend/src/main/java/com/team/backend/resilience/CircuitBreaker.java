@@ -0,0 +1,148 @@
+package com.team.backend.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * 서킷 브레이커 (최근 N회 호출의 실패율 기준)
+ * - CLOSED: 정상 호출, 최근 windowSize회 중 실패율이 threshold 이상이면 OPEN
+ * - OPEN: openDuration 동안 호출 즉시 거절
+ * - HALF_OPEN: halfOpenProbes회까지만 시험 호출 허용, 모두 성공하면 CLOSED / 하나라도 실패하면 다시 OPEN
+ * - 허가는 발급 시점의 상태 번호(epoch)로 표시하고, 상태가 바뀐 뒤 늦게 도착한 결과는 무시
+ *   (OPEN 중 늦은 실패가 OPEN 시간을 계속 늘리거나, CLOSED 시절 호출이 시험 호출로 집계되지 않도록)
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public static final long NOT_PERMITTED = -1L;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    // 최근 호출 결과 링 버퍼 (true = 실패)
+    private final boolean[] outcomes;
+    private int cursor;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenProbes) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenProbes, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                   Duration openDuration, int halfOpenProbes, LongSupplier nanoClock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.outcomes = new boolean[windowSize];
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 호출 허가 (HALF_OPEN에서는 시험 호출 수만큼만 허용)
+     * @return 결과 보고 시 넘길 허가 번호, 거절이면 NOT_PERMITTED
+     */
+    public synchronized long tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) return NOT_PERMITTED;
+            transition(State.HALF_OPEN);
+            probesIssued = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= halfOpenProbes) return NOT_PERMITTED;
+            probesIssued++;
+        }
+        return epoch;
+    }
+
+    public synchronized void onSuccess(long permit) {
+        if (permit != epoch) return;
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(long permit) {
+        if (permit != epoch) return;
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * 허가를 받았지만 결과 없이 끝난 호출 (취소 등) - HALF_OPEN 시험 호출 자리 반환
+     */
+    public synchronized void onIgnored(long permit) {
+        if (permit != epoch) return;
+        if (state == State.HALF_OPEN && probesIssued > probesSucceeded) {
+            probesIssued--;
+        }
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * OPEN 상태에서 다음 시험 호출까지 남은 시간 (초, 올림)
+     */
+    public synchronized long remainingOpenSeconds() {
+        if (state != State.OPEN) return 0;
+        long remaining = openNanos - (nanoClock.getAsLong() - openedAt);
+        return remaining <= 0 ? 0 : (remaining + 999_999_999L) / 1_000_000_000L;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (outcomes[cursor]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[cursor] = failure;
+        if (failure) failures++;
+        cursor = (cursor + 1) % windowSize;
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = nanoClock.getAsLong();
+    }
+
+    // 상태가 바뀌면 이전 상태에서 발급한 허가는 모두 무효
+    private void transition(State next) {
+        state = next;
+        epoch++;
+        cursor = 0;
+        recorded = 0;
+        failures = 0;
+        Arrays.fill(outcomes, false);
+    }
+}
@@ -0,0 +1,269 @@
+package com.team.backend.resilience;
+
+import com.team.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 호출 보호 (임베딩 / 채팅을 따로 관리)
+ * - 벌크헤드: 작업별 고정 동시 호출 상한 (임베딩 폭주가 솔루션 생성 자리를 빼앗지 않도록)
+ * - 적응형 한도(AIMD): 응답 지연이 latency-threshold를 넘거나 429/5xx/타임아웃이면 한도 감소, 정상이면 천천히 증가
+ * - 서킷 브레이커: 최근 호출 실패율이 높으면 open-duration 동안 즉시 거절, 이후 소수의 시험 호출로 복구 확인
+ * 어느 단계에서든 거절되면 기다리지 않고 ServiceUnavailableException(503)으로 실패
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiResilience {
+
+    public enum Operation { EMBEDDING, CHAT }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${gemini.resilience.enabled:true}")
+    private boolean enabled;
+
+    // 임베딩 (배처가 묶어 보내므로 동시 호출 수는 작게 유지됨)
+    @Value("${gemini.resilience.embedding.max-concurrent:16}")
+    private int embeddingMaxConcurrent;
+
+    @Value("${gemini.resilience.embedding.initial-limit:8}")
+    private int embeddingInitialLimit;
+
+    @Value("${gemini.resilience.embedding.min-limit:1}")
+    private int embeddingMinLimit;
+
+    @Value("${gemini.resilience.embedding.latency-threshold:3s}")
+    private Duration embeddingLatencyThreshold;
+
+    // 채팅 (응답이 길어 지연 기준도 넉넉하게)
+    @Value("${gemini.resilience.chat.max-concurrent:32}")
+    private int chatMaxConcurrent;
+
+    @Value("${gemini.resilience.chat.initial-limit:16}")
+    private int chatInitialLimit;
+
+    @Value("${gemini.resilience.chat.min-limit:2}")
+    private int chatMinLimit;
+
+    @Value("${gemini.resilience.chat.latency-threshold:20s}")
+    private Duration chatLatencyThreshold;
+
+    // 공통 설정
+    @Value("${gemini.resilience.backoff-ratio:0.7}")
+    private double backoffRatio;
+
+    @Value("${gemini.resilience.circuit.window-size:50}")
+    private int windowSize;
+
+    @Value("${gemini.resilience.circuit.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${gemini.resilience.circuit.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${gemini.resilience.circuit.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${gemini.resilience.circuit.half-open-probes:3}")
+    private int halfOpenProbes;
+
+    private Guard embedding;
+    private Guard chat;
+
+    @PostConstruct
+    void init() {
+        embedding = new Guard(Operation.EMBEDDING, embeddingMaxConcurrent, embeddingInitialLimit, embeddingMinLimit, embeddingLatencyThreshold);
+        chat = new Guard(Operation.CHAT, chatMaxConcurrent, chatInitialLimit, chatMinLimit, chatLatencyThreshold);
+        log.info("Gemini resilience configured - Enabled: {}, Embedding: {}, Chat: {}", enabled, embeddingMaxConcurrent, chatMaxConcurrent);
+    }
+
+    /**
+     * 단건 응답 호출 보호 (구독 시점에 자리를 잡고, 완료/실패/취소 시 반환)
+     */
+    public <T> Mono<T> protect(Operation operation, Supplier<Mono<T>> call) {
+        if (!enabled) return Mono.defer(call);
+
+        Guard guard = guard(operation);
+        return Mono.defer(() -> {
+            Permit permit = guard.acquire();
+            return call.get()
+                    .doOnSuccess(value -> permit.success())
+                    .doOnError(permit::failure)
+                    .doOnCancel(permit::ignore);
+        });
+    }
+
+    /**
+     * 스트리밍 호출 보호 (지연은 첫 조각이 도착할 때까지의 시간으로 판단)
+     */
+    public <T> Flux<T> protectFlux(Operation operation, Supplier<Flux<T>> call) {
+        if (!enabled) return Flux.defer(call);
+
+        Guard guard = guard(operation);
+        return Flux.defer(() -> {
+            Permit permit = guard.acquire();
+            return call.get()
+                    .doOnNext(value -> permit.firstSignal())
+                    .doOnComplete(permit::success)
+                    .doOnError(permit::failure)
+                    .doOnCancel(permit::ignore);
+        });
+    }
+
+    public CircuitBreaker.State circuitState(Operation operation) {
+        return guard(operation).breaker.state();
+    }
+
+    private Guard guard(Operation operation) {
+        return operation == Operation.EMBEDDING ? embedding : chat;
+    }
+
+    /**
+     * 호출 실패를 응답용 예외로 변환 (동기 래퍼 / 배처 대기 공통)
+     * - 공급자 쪽 문제(5xx / 429 / 타임아웃 / 연결 실패)는 503(ServiceUnavailableException)
+     * - 그 밖의 오류(잘못된 요청, 응답 형식 등)는 원인을 담은 일반 실패
+     */
+    public static RuntimeException unavailableOr(Throwable error, String message) {
+        Throwable cause = Exceptions.unwrap(error); // block()이 감싼 checked 예외(TimeoutException) 풀기
+        if (cause instanceof ServiceUnavailableException unavailable) {
+            return unavailable;
+        }
+        if (cause instanceof TimeoutException) {
+            return new ServiceUnavailableException("AI 서비스 응답이 지연되고 있습니다.", cause);
+        }
+        if (isProviderFailure(cause)) {
+            return new ServiceUnavailableException("AI 서비스에 일시적으로 연결할 수 없습니다.", cause);
+        }
+        return new RuntimeException(message, cause);
+    }
+
+    /**
+     * 공급자 쪽 문제(과부하 / 장애 / 지연)인지 판단 - 잘못된 요청(4xx)은 서킷과 한도에 반영하지 않음
+     */
+    private static boolean isProviderFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return error instanceof TimeoutException || error instanceof WebClientRequestException;
+    }
+
+    private class Guard {
+        private final Operation operation;
+        private final String name;
+        private final Bulkhead bulkhead;
+        private final AimdLimiter limiter;
+        private final CircuitBreaker breaker;
+        private final Counter rejectedByCircuit;
+        private final Counter rejectedByBulkhead;
+        private final Counter rejectedByLimit;
+
+        private Guard(Operation operation, int maxConcurrent, int initialLimit, int minLimit, Duration latencyThreshold) {
+            this.operation = operation;
+            this.name = operation.name().toLowerCase();
+            this.bulkhead = new Bulkhead(maxConcurrent);
+            this.limiter = new AimdLimiter(initialLimit, minLimit, maxConcurrent, latencyThreshold.toNanos(), backoffRatio);
+            this.breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenProbes);
+
+            Gauge.builder("gemini.circuit.state", breaker, b -> b.state().ordinal())
+                    .description("서킷 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                    .tag("operation", name)
+                    .register(meterRegistry);
+            Gauge.builder("gemini.concurrency.limit", limiter, AimdLimiter::limit)
+                    .tag("operation", name)
+                    .register(meterRegistry);
+            Gauge.builder("gemini.concurrency.in-flight", bulkhead, Bulkhead::inUse)
+                    .tag("operation", name)
+                    .register(meterRegistry);
+            rejectedByCircuit = meterRegistry.counter("gemini.rejected", "operation", name, "reason", "circuit");
+            rejectedByBulkhead = meterRegistry.counter("gemini.rejected", "operation", name, "reason", "bulkhead");
+            rejectedByLimit = meterRegistry.counter("gemini.rejected", "operation", name, "reason", "limit");
+        }
+
+        private Permit acquire() {
+            long breakerPermit = breaker.tryAcquirePermission();
+            if (breakerPermit == CircuitBreaker.NOT_PERMITTED) {
+                rejectedByCircuit.increment();
+                throw new ServiceUnavailableException("AI 서비스가 일시적으로 불안정합니다. 잠시 후 다시 시도해주세요.",
+                        Math.max(1, breaker.remainingOpenSeconds()));
+            }
+            if (!bulkhead.tryAcquire()) {
+                breaker.onIgnored(breakerPermit);
+                rejectedByBulkhead.increment();
+                throw new ServiceUnavailableException("AI 서비스 요청이 많습니다. 잠시 후 다시 시도해주세요.", 1);
+            }
+            if (!limiter.tryAcquire()) {
+                bulkhead.release();
+                breaker.onIgnored(breakerPermit);
+                rejectedByLimit.increment();
+                throw new ServiceUnavailableException("AI 서비스 요청이 많습니다. 잠시 후 다시 시도해주세요.", 1);
+            }
+            return new Permit(this, breakerPermit);
+        }
+    }
+
+    /**
+     * 호출 한 건이 잡은 자리 (성공/실패/취소 중 처음 들어온 신호 한 번만 반영)
+     */
+    private static class Permit {
+        private final Guard guard;
+        private final long breakerPermit;
+        private final long startedAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile long firstSignalAt;
+
+        private Permit(Guard guard, long breakerPermit) {
+            this.guard = guard;
+            this.breakerPermit = breakerPermit;
+        }
+
+        private void firstSignal() {
+            if (firstSignalAt == 0) firstSignalAt = System.nanoTime();
+        }
+
+        private void success() {
+            if (!released.compareAndSet(false, true)) return;
+            long end = firstSignalAt != 0 ? firstSignalAt : System.nanoTime();
+            guard.limiter.onSuccess(end - startedAt);
+            guard.breaker.onSuccess(breakerPermit);
+            guard.bulkhead.release();
+        }
+
+        private void failure(Throwable error) {
+            if (!released.compareAndSet(false, true)) return;
+            if (isProviderFailure(error)) {
+                log.debug("Gemini call failed - Operation: {}, Reason: {}", guard.operation, error.toString());
+                guard.limiter.onDropped();
+                guard.breaker.onFailure(breakerPermit);
+            } else {
+                guard.limiter.onIgnored();
+                guard.breaker.onIgnored(breakerPermit);
+            }
+            guard.bulkhead.release();
+        }
+
+        private void ignore() {
+            if (!released.compareAndSet(false, true)) return;
+            guard.limiter.onIgnored();
+            guard.breaker.onIgnored(breakerPermit);
+            guard.bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.team.backend.security;
+
+import com.team.backend.entity.User;
+import com.team.backend.exception.UnauthorizedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 운영용(admin) API 접근 제어
+ * admin.user-ids 에 등록된 사용자만 허용
+ */
+@Component
+public class AdminGuard {
+
+    @Value("${admin.user-ids:}")
+    private List<Long> adminUserIds;
+
+    public void check(User user) {
+        if (user == null || user.getId() == null || !adminUserIds.contains(user.getId())) {
+            throw new UnauthorizedException("관리자만 접근할 수 있습니다.");
+        }
+    }
+}
@@ -2,13 +2,19 @@ package com.team.backend.service;
 
 import com.team.backend.dto.EmotionRecordRequest;
 import com.team.backend.dto.EmotionRecordResponse;
+import com.team.backend.dto.RecordPageResponse;
+import com.team.backend.entity.EmbeddingOutbox;
 import com.team.backend.entity.EmotionRecord;
-import com.team.backend.entity.Solution;
 import com.team.backend.entity.User;
+import com.team.backend.repository.EmbeddingOutboxRepository;
 import com.team.backend.repository.EmotionRecordRepository;
+import com.team.backend.repository.RecordEmbeddingRepository;
 import com.team.backend.repository.SolutionLogRepository; // [추가]
 import com.team.backend.repository.SolutionRepository;
+import com.team.backend.vector.UserVectorIndexCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,7 +22,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,27 +30,34 @@ public class DiaryService {
     private final EmotionRecordRepository emotionRecordRepository;
     private final SolutionRepository solutionRepository;
     private final SolutionLogRepository solutionLogRepository; // [추가]
-    private final GeminiService geminiService; // [추가]
+    private final SolutionSingleFlight solutionSingleFlight;
+    private final EmbeddingOutboxRepository embeddingOutboxRepository;
+    private final RecordEmbeddingRepository recordEmbeddingRepository;
+    private final UserVectorIndexCache vectorIndexCache;
+
+    @Value("${diary.timeline.default-size:20}")
+    private int timelineDefaultSize;
+
+    @Value("${diary.timeline.max-size:100}")
+    private int timelineMaxSize;
 
     // 기록 저장
     @Transactional
     public Long saveDiary(User user, EmotionRecordRequest request) {
-        // 1. 임베딩 생성 (저장용이므로 RETRIEVAL_DOCUMENT)
-        // 검색 품질을 높이기 위해 감정 타입과 내용을 조합해서 벡터화
-        String contentForEmbedding = "Emotion: " + request.getEmotionType() + ", Content: " + request.getReason();
-        String embedding = geminiService.getEmbedding(contentForEmbedding, "RETRIEVAL_DOCUMENT");
-
-        // 2. 일기 저장 (임베딩 포함)
+        // 1. 일기 저장 (임베딩은 비워두고 바로 커밋)
         EmotionRecord record = EmotionRecord.builder()
                 .user(user)
                 .emotionType(request.getEmotionType())
                 .level(request.getLevel())
                 .reason(request.getReason())
-                .embedding(embedding) // [추가]
                 .recordedAt(request.getRecordedAt() != null ? request.getRecordedAt() : java.time.LocalDateTime.now())
                 .build();
 
-        return emotionRecordRepository.save(record).getId();
+        EmotionRecord saved = emotionRecordRepository.save(record);
+
+        // 2. 임베딩 작업 등록 (같은 트랜잭션 - EmbeddingOutboxWorker가 RETRIEVAL_DOCUMENT 임베딩을 채움)
+        embeddingOutboxRepository.save(EmbeddingOutbox.pending(saved.getId()));
+        return saved.getId();
     }
 
     // 기록 수정
@@ -59,17 +71,18 @@ public class DiaryService {
         // [중요] 내용(reason)이 변경되었는지 확인
         // 내용이 바뀌었다면 -> 임베딩도 바뀌어야 하고 -> 과거 솔루션은 의미가 없어지므로 삭제해야 함.
         if (!record.getReason().equals(request.getReason())) {
-            // 1. 새로운 임베딩 생성
-            String contentForEmbedding = "Emotion: " + request.getEmotionType() + ", Content: " + request.getReason();
-            String newEmbedding = geminiService.getEmbedding(contentForEmbedding, "RETRIEVAL_DOCUMENT");
+            // 1. 기존 임베딩 제거 (새 임베딩이 채워질 때까지 검색 대상에서 제외)
+            recordEmbeddingRepository.deleteAllByRecordId(recordId);
+            vectorIndexCache.removeAfterCommit(user.getId(), recordId);
 
-            // 2. 임베딩 업데이트
-            record.updateEmbedding(newEmbedding);
+            // 2. 재임베딩 작업 등록
+            embeddingOutboxRepository.save(EmbeddingOutbox.pending(recordId));
 
             // 3. 연관된 과거 데이터 삭제 (오염 방지)
             // FK 제약 조건 때문에 로그(Child)를 먼저 지우고 솔루션(Parent)을 지우거나, 순서대로 삭제
             solutionLogRepository.deleteAllByEmotionRecord(record); // 로그 삭제
             solutionRepository.deleteByEmotionRecord(record);       // 현재 솔루션 삭제
+            solutionSingleFlight.invalidateAfterCommit(recordId);
         }
 
         // 4. 나머지 필드 업데이트
@@ -88,8 +101,12 @@ public class DiaryService {
         // 명시적으로 안전하게 연관 데이터를 먼저 지워주는 것이 좋음 (선택 사항)
         solutionLogRepository.deleteAllByEmotionRecord(record);
         solutionRepository.deleteByEmotionRecord(record);
+        embeddingOutboxRepository.deleteAllByRecordId(recordId);
+        recordEmbeddingRepository.deleteAllByRecordId(recordId);
+        solutionSingleFlight.invalidateAfterCommit(recordId);
 
         emotionRecordRepository.delete(record);
+        vectorIndexCache.removeAfterCommit(user.getId(), recordId);
     }
 
     // ... (이하 validateOwnership, 조회 메서드들은 기존 코드 유지) ...
@@ -100,49 +117,54 @@ public class DiaryService {
         }
     }
 
-    // 월간 조회
+    // 월간 조회 (솔루션까지 쿼리 한 번)
     @Transactional(readOnly = true)
     public List<EmotionRecordResponse> getMonthlyRecords(User user, int year, int month) {
         YearMonth yearMonth = YearMonth.of(year, month);
         LocalDateTime start = yearMonth.atDay(1).atStartOfDay();
         LocalDateTime end = yearMonth.atEndOfMonth().atTime(23, 59, 59);
 
-        List<EmotionRecord> records = emotionRecordRepository.findAllByUserAndRecordedAtBetweenOrderByRecordedAtDesc(user, start, end);
-
-        return records.stream()
-                .map(record -> {
-                    Solution solution = solutionRepository.findByEmotionRecord(record).orElse(null);
-                    return EmotionRecordResponse.from(record, solution);
-                })
-                .collect(Collectors.toList());
+        return emotionRecordRepository.findResponsesByUserIdAndRecordedAtBetween(user.getId(), start, end);
     }
 
-    // 일간 조회
+    // 일간 조회 (솔루션까지 쿼리 한 번)
     @Transactional(readOnly = true)
     public List<EmotionRecordResponse> getDailyRecords(User user, String dateStr) {
         LocalDate date = LocalDate.parse(dateStr);
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.atTime(23, 59, 59);
 
-        List<EmotionRecord> records = emotionRecordRepository.findAllByUserAndRecordedAtBetweenOrderByRecordedAtDesc(user, start, end);
-
-        return records.stream()
-                .map(record -> {
-                    Solution solution = solutionRepository.findByEmotionRecord(record).orElse(null);
-                    return EmotionRecordResponse.from(record, solution);
-                })
-                .collect(Collectors.toList());
+        return emotionRecordRepository.findResponsesByUserIdAndRecordedAtBetween(user.getId(), start, end);
     }
 
-    // 최근 기록 조회
+    // 최근 기록 조회 (최근 5개, 솔루션까지 쿼리 한 번)
     @Transactional(readOnly = true)
     public List<EmotionRecordResponse> getRecentRecords(User user) {
-        List<EmotionRecord> records = emotionRecordRepository.findTop5ByUserOrderByRecordedAtDesc(user);
-        return records.stream()
-                .map(record -> {
-                    Solution solution = solutionRepository.findByEmotionRecord(record).orElse(null);
-                    return EmotionRecordResponse.from(record, solution);
-                })
-                .collect(Collectors.toList());
+        return emotionRecordRepository.findRecentResponsesByUserId(user.getId(), Limit.of(5));
+    }
+
+    // 타임라인 조회 (커서 기반, 페이지마다 size + 1건만 읽어 다음 페이지 여부 판단)
+    @Transactional(readOnly = true)
+    public RecordPageResponse getTimeline(User user, String cursor, Integer size) {
+        int pageSize = size == null ? timelineDefaultSize : Math.max(1, Math.min(size, timelineMaxSize));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<EmotionRecordResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = emotionRecordRepository.findTimelineByUserId(user.getId(), limit);
+        } else {
+            RecordCursor after = RecordCursor.decode(cursor);
+            rows = emotionRecordRepository.findTimelineByUserIdBefore(
+                    user.getId(), after.recordedAt(), after.recordId(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<EmotionRecordResponse> items = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            EmotionRecordResponse last = items.get(items.size() - 1);
+            nextCursor = new RecordCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new RecordPageResponse(items, nextCursor, hasNext);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,433 @@
+package com.team.backend.service;
+
+import com.team.backend.config.WorkerThreadFactory;
+import com.team.backend.entity.EmbeddingBackfillJob;
+import com.team.backend.exception.ServiceUnavailableException;
+import com.team.backend.repository.EmbeddingBackfillJobRepository;
+import com.team.backend.resilience.TokenBucket;
+import com.team.backend.vector.UnitVector;
+import com.team.backend.vector.UserVectorIndexCache;
+import com.team.backend.vector.VectorCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 임베딩 일괄 재생성(백필) 작업
+ * - 모델 / taskType / 차원 변경 시 EMOTION_RECORDS 전체를 record_id 순(keyset)으로 다시 임베딩
+ * - 페이지마다 체크포인트(last_record_id)를 EMBEDDING_BACKFILL_JOBS에 저장 → 재시작/일시정지 후 이어서 진행
+ * - Gemini 호출은 parallelism개 스레드 + 토큰 버킷(rate-per-second)으로 제한해 실시간 트래픽에 영향 최소화
+ * - 결과는 JDBC batchUpdate로 페이지 단위 반영, 항목별 오류(4xx 등)로 실패한 기록만 임베딩 아웃박스로 넘겨 개별 재시도
+ * - Gemini 장애(서킷 OPEN / 한도 초과 / 5xx / 타임아웃)면 체크포인트를 그대로 두고 물러났다가 같은 페이지를 다시 시도
+ * - 여러 인스턴스 중 작업 행의 임대(lease_owner / lease_until)를 잡은 한 곳만 진행, 체크포인트 저장도 임대로 보호
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmbeddingBackfillService {
+
+    private static final List<EmbeddingBackfillJob.Status> ACTIVE_STATUSES =
+            List.of(EmbeddingBackfillJob.Status.RUNNING, EmbeddingBackfillJob.Status.PAUSED);
+
+    private final EmbeddingBackfillJobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EmbeddingService embeddingService;
+    private final GeminiService geminiService;
+    private final UserVectorIndexCache vectorIndexCache;
+    private final WorkerThreadFactory workerThreadFactory;
+
+    @Value("${embedding-backfill.page-size:200}")
+    private int pageSize;
+
+    @Value("${embedding-backfill.parallelism:4}")
+    private int parallelism;
+
+    @Value("${embedding-backfill.rate-per-second:10}")
+    private double ratePerSecond;
+
+    // 서버 시작 시 설정 차원과 다른 임베딩이 있으면 자동으로 백필 시작
+    @Value("${embedding-backfill.auto-start-on-dimension-change:true}")
+    private boolean autoStart;
+
+    // 작업 임대 시간 (페이지마다 갱신, 진행하던 인스턴스가 죽으면 이 시간 뒤 다른 인스턴스가 이어받음)
+    @Value("${embedding-backfill.lease-seconds:120}")
+    private int leaseSeconds;
+
+    // Gemini 장애 시 같은 페이지 재시도 간격 (실패할 때마다 두 배, 최대 max)
+    @Value("${embedding-backfill.outage-backoff.initial-seconds:5}")
+    private int outageBackoffInitialSeconds;
+
+    @Value("${embedding-backfill.outage-backoff.max-seconds:60}")
+    private int outageBackoffMaxSeconds;
+
+    // 이 인스턴스의 임대 식별자
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // synchronized 대신 Lock: 안에서 DB I/O를 하므로 가상 스레드가 캐리어에 고정(pinning)되지 않게
+    private final ReentrantLock startLock = new ReentrantLock();
+    private final AtomicBoolean active = new AtomicBoolean(false);
+    private volatile boolean pauseRequested;
+    private volatile int outageBackoffSeconds;
+    private ExecutorService runner;
+    private ExecutorService embedPool;
+    private TokenBucket tokenBucket;
+
+    @PostConstruct
+    void init() {
+        runner = Executors.newSingleThreadExecutor(workerThreadFactory.named("embedding-backfill"));
+        embedPool = Executors.newFixedThreadPool(parallelism, workerThreadFactory.named("embedding-backfill-worker"));
+        tokenBucket = new TokenBucket(ratePerSecond, Math.max(1, parallelism));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pauseRequested = true;
+        runner.shutdownNow();
+        embedPool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (!resumeOrphaned() && autoStart && hasStaleEmbeddings()
+                && jobRepository.findFirstByStatusInOrderByIdDesc(ACTIVE_STATUSES).isEmpty()) {
+            start(false);
+        }
+    }
+
+    /**
+     * 실행 중(RUNNING)인데 임대가 비었거나 만료된 작업 이어받기 (진행하던 인스턴스가 종료된 경우)
+     * 여러 인스턴스가 동시에 시도해도 run()의 임대 획득에서 한 곳만 진행
+     */
+    @Scheduled(fixedDelayString = "${embedding-backfill.lease-check-interval-ms:60000}")
+    public void resumeOrphanedJob() {
+        resumeOrphaned();
+    }
+
+    private boolean resumeOrphaned() {
+        if (active.get()) return false;
+
+        List<Long> orphaned = jdbcTemplate.queryForList(
+                "SELECT job_id FROM embedding_backfill_jobs WHERE status = 'RUNNING' " +
+                        "AND (lease_until IS NULL OR lease_until < now()) ORDER BY job_id DESC LIMIT 1",
+                Long.class);
+        if (orphaned.isEmpty()) return false;
+
+        log.info("Embedding backfill resuming - JobId: {}, Instance: {}", orphaned.get(0), instanceId);
+        launch(orphaned.get(0));
+        return true;
+    }
+
+    /**
+     * 백필 시작 (일시정지된 작업이 있으면 이어서 진행, 이미 실행 중이면 현재 상태만 반환)
+     */
+    public Map<String, Object> start(boolean force) {
+        startLock.lock();
+        try {
+            return startLocked(force);
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    private Map<String, Object> startLocked(boolean force) {
+        if (active.get()) {
+            return getStatus();
+        }
+
+        EmbeddingBackfillJob job = jobRepository.findFirstByStatusInOrderByIdDesc(ACTIVE_STATUSES)
+                .orElseGet(() -> createJob(force));
+        if (job.getStatus() == EmbeddingBackfillJob.Status.PAUSED) {
+            // 엔티티 저장은 체크포인트를 덮어쓸 수 있으므로 상태만 변경
+            jdbcTemplate.update("UPDATE embedding_backfill_jobs SET status = 'RUNNING', updated_at = now() " +
+                    "WHERE job_id = ? AND status = 'PAUSED'", job.getId());
+        }
+        log.info("Embedding backfill started - JobId: {}, Force: {}, TargetDimension: {}",
+                job.getId(), job.getForce(), job.getTargetDimension());
+
+        // 다른 인스턴스가 진행 중이면 임대를 얻지 못하고 바로 끝남
+        launch(job.getId());
+        return getStatus();
+    }
+
+    private EmbeddingBackfillJob createJob(boolean force) {
+        Long total = jdbcTemplate.queryForObject("SELECT count(*) FROM emotion_records", Long.class);
+        try {
+            return jobRepository.save(EmbeddingBackfillJob.start(force, geminiService.embeddingModel(),
+                    embeddingService.dimension(), total == null ? 0 : total));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 먼저 만든 경우 (진행 중 작업은 하나만 - uk_embedding_backfill_jobs_active)
+            return jobRepository.findFirstByStatusInOrderByIdDesc(ACTIVE_STATUSES).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * 현재 페이지까지 처리하고 멈춤 (체크포인트는 유지)
+     */
+    public Map<String, Object> pause() {
+        if (active.get()) {
+            pauseRequested = true;
+        } else {
+            // 다른 인스턴스가 진행 중: 상태를 바꾸면 다음 페이지 임대 갱신에서 멈춤
+            jdbcTemplate.update("UPDATE embedding_backfill_jobs SET status = 'PAUSED', updated_at = now() " +
+                    "WHERE status = 'RUNNING'");
+        }
+        return getStatus();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("active", active.get());
+        status.put("pauseRequested", active.get() && pauseRequested);
+        status.put("ratePerSecond", tokenBucket.ratePerSecond());
+        status.put("parallelism", parallelism);
+        status.put("outageBackoffSeconds", active.get() ? outageBackoffSeconds : 0);
+
+        jobRepository.findFirstByOrderByIdDesc().ifPresent(job -> {
+            status.put("jobId", job.getId());
+            status.put("status", job.getStatus());
+            status.put("force", job.getForce());
+            status.put("targetModel", job.getTargetModel());
+            status.put("targetDimension", job.getTargetDimension());
+            status.put("lastRecordId", job.getLastRecordId());
+            status.put("totalRecords", job.getTotalRecords());
+            status.put("processed", job.getProcessed());
+            status.put("skipped", job.getSkipped());
+            status.put("failed", job.getFailed());
+            long done = job.getProcessed() + job.getSkipped() + job.getFailed();
+            status.put("progress", job.getTotalRecords() == 0 ? 1.0 : Math.min(1.0, (double) done / job.getTotalRecords()));
+            status.put("startedAt", job.getStartedAt());
+            status.put("updatedAt", job.getUpdatedAt());
+            status.put("finishedAt", job.getFinishedAt());
+            status.put("lastError", job.getLastError());
+
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            if (job.getStartedAt() != null) {
+                long seconds = Math.max(1, Duration.between(job.getStartedAt(), end).getSeconds());
+                status.put("processedPerSecond", (double) job.getProcessed() / seconds);
+            }
+        });
+        return status;
+    }
+
+    private void launch(Long jobId) {
+        if (!active.compareAndSet(false, true)) return;
+        pauseRequested = false;
+        runner.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                active.set(false);
+            }
+        });
+    }
+
+    private void run(Long jobId) {
+        if (!renewLease(jobId)) {
+            log.info("Embedding backfill is running on another instance - JobId: {}", jobId);
+            return;
+        }
+        EmbeddingBackfillJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) return;
+
+        outageBackoffSeconds = 0;
+        try {
+            while (!pauseRequested) {
+                if (!renewLease(jobId)) {
+                    // 다른 인스턴스에서 일시정지했거나 임대가 만료되어 넘어감 (체크포인트는 이미 저장됨)
+                    log.info("Embedding backfill stopped (paused elsewhere or lease lost) - JobId: {}, LastRecordId: {}",
+                            jobId, job.getLastRecordId());
+                    return;
+                }
+
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT r.record_id, r.user_id, r.emotion_type, r.reason, e.dimension AS embedding_dim " +
+                                "FROM emotion_records r LEFT JOIN record_embeddings e " +
+                                "ON e.record_id = r.record_id AND e.model = ? AND e.task_type = ? " +
+                                "WHERE r.record_id > ? ORDER BY r.record_id LIMIT ?",
+                        embeddingService.model(), EmbeddingService.TASK_DOCUMENT, job.getLastRecordId(), pageSize);
+                if (rows.isEmpty()) {
+                    job.complete();
+                    jobRepository.save(job);
+                    log.info("Embedding backfill completed - JobId: {}, Processed: {}, Skipped: {}, Failed: {}",
+                            job.getId(), job.getProcessed(), job.getSkipped(), job.getFailed());
+                    return;
+                }
+
+                if (!processPage(job, rows)) {
+                    // Gemini 장애: 체크포인트를 두고 물러났다가 같은 페이지 재시도 (아웃박스로 넘기지 않음)
+                    outageBackoffSeconds = outageBackoffSeconds == 0 ? outageBackoffInitialSeconds
+                            : Math.min(outageBackoffSeconds * 2, outageBackoffMaxSeconds);
+                    log.warn("Embedding backfill waiting for Gemini - JobId: {}, LastRecordId: {}, Backoff: {}s",
+                            jobId, job.getLastRecordId(), outageBackoffSeconds);
+                    Thread.sleep(outageBackoffSeconds * 1000L);
+                    continue;
+                }
+                outageBackoffSeconds = 0;
+            }
+
+            job.pause();
+            jobRepository.save(job);
+            log.info("Embedding backfill paused - JobId: {}, LastRecordId: {}", job.getId(), job.getLastRecordId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // 종료 중: 체크포인트는 이미 저장됨, 다음 기동 때 이어서 진행
+        } catch (RuntimeException e) {
+            log.error("Embedding backfill failed - JobId: {}, LastRecordId: {}", job.getId(), job.getLastRecordId(), e);
+            job.fail(e.getMessage());
+            jobRepository.save(job);
+        } finally {
+            releaseLease(jobId);
+        }
+    }
+
+    /**
+     * 작업 임대 획득 / 갱신 (RUNNING 상태이고, 임대가 비었거나 만료됐거나 이미 내 것일 때만)
+     */
+    private boolean renewLease(Long jobId) {
+        return jdbcTemplate.update(
+                "UPDATE embedding_backfill_jobs SET lease_owner = ?, lease_until = now() + make_interval(secs => ?) " +
+                        "WHERE job_id = ? AND status = 'RUNNING' " +
+                        "AND (lease_owner IS NULL OR lease_owner = ? OR lease_until < now())",
+                instanceId, leaseSeconds, jobId, instanceId) == 1;
+    }
+
+    private void releaseLease(Long jobId) {
+        jdbcTemplate.update("UPDATE embedding_backfill_jobs SET lease_owner = NULL, lease_until = NULL " +
+                "WHERE job_id = ? AND lease_owner = ?", jobId, instanceId);
+    }
+
+    /**
+     * 한 페이지 처리 후 체크포인트 저장 (Gemini 장애로 처리하지 못했으면 아무것도 반영하지 않고 false)
+     */
+    private boolean processPage(EmbeddingBackfillJob job, List<Map<String, Object>> rows) {
+        int targetDimension = job.getTargetDimension();
+        List<Map<String, Object>> targets = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            Number dimension = (Number) row.get("embedding_dim");
+            if (job.getForce() || dimension == null || dimension.intValue() != targetDimension) {
+                targets.add(row);
+            }
+        }
+
+        // 기록별 임베딩을 제한된 병렬도로 요청 (토큰 버킷으로 초당 호출 수 제한)
+        List<CompletableFuture<UnitVector>> futures = new ArrayList<>(targets.size());
+        for (Map<String, Object> row : targets) {
+            String content = EmbeddingService.contentOf((String) row.get("emotion_type"), (String) row.get("reason"));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    tokenBucket.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("백필이 중단되었습니다.", e);
+                }
+                return embeddingService.embed(content, EmbeddingService.TASK_DOCUMENT);
+            }, embedPool));
+        }
+
+        List<Object[]> updateArgs = new ArrayList<>();
+        List<Map<String, Object>> updatedRows = new ArrayList<>();
+        List<UnitVector> updatedVectors = new ArrayList<>();
+        List<Object[]> failedArgs = new ArrayList<>();
+        boolean providerUnavailable = false;
+        for (int i = 0; i < targets.size(); i++) {
+            Map<String, Object> row = targets.get(i);
+            try {
+                UnitVector unit = futures.get(i).join();
+                // 처리 중 사용자가 내용을 바꾼 경우는 덮어쓰지 않음 (아웃박스가 새 내용으로 처리)
+                updateArgs.add(new Object[]{embeddingService.model(), EmbeddingService.TASK_DOCUMENT, unit.dimension(),
+                        VectorCodec.encode(unit.values()), unit.norm(),
+                        row.get("record_id"), row.get("emotion_type"), row.get("reason")});
+                updatedRows.add(row);
+                updatedVectors.add(unit);
+            } catch (RuntimeException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof ServiceUnavailableException) {
+                    providerUnavailable = true; // 항목 문제가 아니므로 나머지 결과만 기다린 뒤 페이지 전체 재시도
+                    continue;
+                }
+                log.debug("Embedding backfill item failed - RecordId: {}", row.get("record_id"), e);
+                failedArgs.add(new Object[]{row.get("record_id"), row.get("record_id")});
+            }
+        }
+        if (providerUnavailable) {
+            return false; // 성공한 항목도 반영하지 않음 (재시도 때 임베딩 캐시에서 바로 나옴)
+        }
+
+        // 실제로 저장된 행 수 (처리 중 내용이 바뀌어 조건에 걸린 행은 건너뜀으로 집계)
+        int processed = 0;
+        if (!updateArgs.isEmpty()) {
+            int[] results = jdbcTemplate.batchUpdate(
+                    "INSERT INTO record_embeddings (record_id, model, task_type, dimension, embedding, embedding_norm, updated_at) " +
+                            "SELECT record_id, ?, ?, ?, ?, ?, now() FROM emotion_records " +
+                            "WHERE record_id = ? AND emotion_type = ? AND reason IS NOT DISTINCT FROM ? " +
+                            "ON CONFLICT (record_id, model, task_type) DO UPDATE SET dimension = EXCLUDED.dimension, " +
+                            "embedding = EXCLUDED.embedding, embedding_norm = EXCLUDED.embedding_norm, updated_at = now()",
+                    updateArgs);
+            List<Object[]> staleQueryArgs = new ArrayList<>();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == 0) continue;
+                processed++;
+                Map<String, Object> row = updatedRows.get(i);
+                vectorIndexCache.upsertAfterCommit(((Number) row.get("user_id")).longValue(),
+                        ((Number) row.get("record_id")).longValue(), updatedVectors.get(i).values());
+                staleQueryArgs.add(new Object[]{row.get("record_id"), EmbeddingService.TASK_QUERY});
+            }
+
+            // 차원이 바뀐 쿼리 임베딩은 다음 솔루션 생성 때 새로 만들도록 제거
+            if (!staleQueryArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate("DELETE FROM record_embeddings WHERE record_id = ? AND task_type = ?", staleQueryArgs);
+            }
+        }
+
+        if (!failedArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO embedding_outbox (record_id, attempts, next_attempt_at, created_at) " +
+                            "SELECT ?, 0, now(), now() WHERE NOT EXISTS (SELECT 1 FROM embedding_outbox WHERE record_id = ?)",
+                    failedArgs);
+        }
+
+        long lastRecordId = ((Number) rows.get(rows.size() - 1).get("record_id")).longValue();
+        int skipped = rows.size() - targets.size() + (updateArgs.size() - processed);
+        job.advance(lastRecordId, processed, skipped, failedArgs.size());
+
+        // 임대를 가진 경우에만 체크포인트 저장 (엔티티 저장 대신 JDBC로 상태 컬럼은 건드리지 않음)
+        int saved = jdbcTemplate.update(
+                "UPDATE embedding_backfill_jobs SET last_record_id = ?, processed = processed + ?, " +
+                        "skipped = skipped + ?, failed = failed + ?, updated_at = now() " +
+                        "WHERE job_id = ? AND lease_owner = ?",
+                lastRecordId, processed, skipped, failedArgs.size(), job.getId(), instanceId);
+        if (saved == 0) {
+            log.warn("Embedding backfill checkpoint not saved (lease lost) - JobId: {}, LastRecordId: {}",
+                    job.getId(), lastRecordId);
+        }
+        return true;
+    }
+
+    private boolean hasStaleEmbeddings() {
+        Boolean stale = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM record_embeddings WHERE model = ? AND task_type = ? AND dimension <> ?)",
+                Boolean.class, embeddingService.model(), EmbeddingService.TASK_DOCUMENT, embeddingService.dimension());
+        return Boolean.TRUE.equals(stale);
+    }
+}
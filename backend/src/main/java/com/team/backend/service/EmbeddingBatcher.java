@@ -0,0 +1,191 @@
+package com.team.backend.service;
+
+import com.team.backend.config.WorkerThreadFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임베딩 요청 마이크로 배칭
+ * - 동시에 들어온 임베딩 요청을 모아 batchEmbedContents 한 번으로 처리
+ * - 첫 요청 후 linger-ms 동안 또는 max-size개가 찰 때까지 모은 뒤 전송
+ * - 호출자마다 future를 따로 완료시키고, 배치가 4xx로 거절되면 반씩 나눠 재시도해서 문제 항목만 실패 처리
+ * - 5xx / 타임아웃 / 서킷 OPEN 등 공급자 쪽 실패는 나눠 보내지 않고 배치 전체를 실패 처리
+ * - 전송은 Mono 기반 비동기 호출이라 응답을 기다리는 스레드가 없음 (동시 배치 수는 max-in-flight로 제한)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmbeddingBatcher {
+
+    private final GeminiService geminiService;
+    private final WorkerThreadFactory workerThreadFactory;
+
+    @Value("${gemini.embedding.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gemini.embedding.batch.max-size:32}")
+    private int maxBatchSize;
+
+    @Value("${gemini.embedding.batch.linger-ms:20}")
+    private long lingerMillis;
+
+    @Value("${gemini.embedding.batch.max-in-flight:4}")
+    private int maxInFlight;
+
+    private final BlockingQueue<PendingEmbedding> queue = new LinkedBlockingQueue<>();
+    private Semaphore inFlight;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+
+        running = true;
+        inFlight = new Semaphore(maxInFlight);
+        dispatcher = workerThreadFactory.named("embedding-batch-dispatcher").newThread(this::dispatchLoop);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (dispatcher != null) dispatcher.interrupt();
+
+        PendingEmbedding pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(new IllegalStateException("임베딩 배처가 종료되었습니다."));
+        }
+    }
+
+    public CompletableFuture<float[]> submit(String text, String taskType, int outputDimensionality) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(geminiService.getEmbedding(text, taskType, outputDimensionality));
+        }
+
+        PendingEmbedding pending = new PendingEmbedding(text, taskType, outputDimensionality);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                List<PendingEmbedding> batch = new ArrayList<>(maxBatchSize);
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    PendingEmbedding next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                inFlight.acquire();
+                send(batch).doFinally(signal -> inFlight.release()).subscribe();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Embedding dispatcher error", e);
+            }
+        }
+    }
+
+    /**
+     * 배치 전송 (완료 시 각 future 완료, 항목 오류로 거절되면 반으로 나눠 순서대로 재시도)
+     */
+    private Mono<Void> send(List<PendingEmbedding> batch) {
+        if (batch.size() == 1) {
+            PendingEmbedding single = batch.get(0);
+            return geminiService.getEmbeddingAsync(single.text, single.taskType, single.outputDimensionality)
+                    .doOnNext(single.future::complete)
+                    .switchIfEmpty(Mono.fromRunnable(() -> single.future.completeExceptionally(emptyResponse())))
+                    .onErrorResume(e -> {
+                        single.future.completeExceptionally(e);
+                        return Mono.empty();
+                    })
+                    .then();
+        }
+
+        // 한 배치 안의 차원은 모두 같다고 가정 (설정값 하나를 공유)
+        List<String> texts = new ArrayList<>(batch.size());
+        List<String> taskTypes = new ArrayList<>(batch.size());
+        for (PendingEmbedding pending : batch) {
+            texts.add(pending.text);
+            taskTypes.add(pending.taskType);
+        }
+
+        return geminiService.batchEmbedAsync(texts, taskTypes, batch.get(0).outputDimensionality)
+                .doOnNext(vectors -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).future.complete(vectors.get(i));
+                    }
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> failAll(batch, emptyResponse())))
+                .then()
+                .onErrorResume(e -> {
+                    if (!isItemError(e)) {
+                        // 서킷 OPEN / 한도 초과 / 5xx / 타임아웃: 나눠 보내도 같은 결과라 전체를 바로 실패 처리
+                        failAll(batch, e);
+                        return Mono.empty();
+                    }
+                    int half = batch.size() / 2;
+                    log.debug("Embedding batch rejected, splitting - Size: {}", batch.size());
+                    return send(batch.subList(0, half)).then(send(batch.subList(half, batch.size())));
+                });
+    }
+
+    /**
+     * 특정 항목 때문에 배치 전체가 거절된 경우(429를 제외한 4xx)만 나눠서 재시도
+     */
+    private static boolean isItemError(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            HttpStatusCode status = response.getStatusCode();
+            return status.is4xxClientError() && status.value() != HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return false;
+    }
+
+    private static void failAll(List<PendingEmbedding> batch, Throwable error) {
+        batch.forEach(pending -> pending.future.completeExceptionally(error));
+    }
+
+    private static IllegalStateException emptyResponse() {
+        return new IllegalStateException("임베딩 응답이 비어 있습니다.");
+    }
+
+    private static class PendingEmbedding {
+        private final String text;
+        private final String taskType;
+        private final int outputDimensionality;
+        private final CompletableFuture<float[]> future = new CompletableFuture<>();
+
+        private PendingEmbedding(String text, String taskType, int outputDimensionality) {
+            this.text = text;
+            this.taskType = taskType;
+            this.outputDimensionality = outputDimensionality;
+        }
+    }
+}
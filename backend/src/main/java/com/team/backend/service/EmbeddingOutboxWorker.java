@@ -0,0 +1,189 @@
+package com.team.backend.service;
+
+import com.team.backend.config.WorkerThreadFactory;
+import com.team.backend.vector.UnitVector;
+import com.team.backend.vector.UserVectorIndexCache;
+import com.team.backend.vector.VectorCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 임베딩 아웃박스 처리 워커
+ * - EMBEDDING_OUTBOX에서 처리할 행을 임대(lease)로 가져와 워커 풀에서 임베딩 후 기록에 반영
+ *   (FOR UPDATE SKIP LOCKED + next_attempt_at 연장이라 여러 인스턴스가 동시에 돌아도 중복 처리 없음)
+ * - 실패 시 지수 백오프로 다시 시도, 처리가 끝나면 아웃박스 행 삭제
+ * - 대기 건수(embedding.outbox.depth)와 가장 오래된 작업의 지연(embedding.outbox.lag)을 메트릭으로 노출
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmbeddingOutboxWorker {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmbeddingService embeddingService;
+    private final UserVectorIndexCache vectorIndexCache;
+    private final MeterRegistry meterRegistry;
+    private final WorkerThreadFactory workerThreadFactory;
+
+    @Value("${embedding-outbox.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${embedding-outbox.lease-seconds:60}")
+    private int leaseSeconds;
+
+    @Value("${embedding-outbox.backoff.initial-seconds:5}")
+    private long initialBackoffSeconds;
+
+    @Value("${embedding-outbox.backoff.max-seconds:600}")
+    private long maxBackoffSeconds;
+
+    @Value("${embedding-outbox.warn-after-attempts:5}")
+    private int warnAfterAttempts;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private ExecutorService workers;
+    private Counter completed;
+    private Counter failed;
+
+    @PostConstruct
+    void start() {
+        workers = Executors.newFixedThreadPool(workerThreads, workerThreadFactory.named("embedding-outbox-worker"));
+
+        Gauge.builder("embedding.outbox.depth", depth, AtomicLong::get)
+                .description("처리 대기 중인 임베딩 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("embedding.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("가장 오래된 대기 작업이 생성된 후 지난 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("embedding.outbox.in-flight", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+        completed = meterRegistry.counter("embedding.outbox.completed");
+        failed = meterRegistry.counter("embedding.outbox.failed");
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 워커 풀에 빈자리만큼 작업을 가져옴 (가져온 작업은 lease-seconds 동안 다른 워커에게 보이지 않음)
+     */
+    @Scheduled(fixedDelayString = "${embedding-outbox.poll-interval-ms:500}")
+    public void poll() {
+        int capacity = workerThreads * 2 - inFlight.get();
+        if (capacity <= 0) return;
+
+        List<Map<String, Object>> claimed = jdbcTemplate.queryForList(
+                "UPDATE embedding_outbox SET attempts = attempts + 1, " +
+                        "next_attempt_at = now() + make_interval(secs => ?) " +
+                        "WHERE outbox_id IN (" +
+                        "  SELECT outbox_id FROM embedding_outbox WHERE next_attempt_at <= now() " +
+                        "  ORDER BY outbox_id LIMIT ? FOR UPDATE SKIP LOCKED" +
+                        ") RETURNING outbox_id, record_id, attempts",
+                leaseSeconds, capacity);
+
+        for (Map<String, Object> row : claimed) {
+            long outboxId = ((Number) row.get("outbox_id")).longValue();
+            long recordId = ((Number) row.get("record_id")).longValue();
+            int attempts = ((Number) row.get("attempts")).intValue();
+
+            inFlight.incrementAndGet();
+            workers.execute(() -> {
+                try {
+                    process(outboxId, recordId, attempts);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${embedding-outbox.metrics-interval-ms:5000}")
+    public void refreshMetrics() {
+        Map<String, Object> stats = jdbcTemplate.queryForMap(
+                "SELECT count(*) AS depth, " +
+                        "coalesce(extract(epoch FROM now() - min(created_at)), 0) AS lag " +
+                        "FROM embedding_outbox");
+        depth.set(((Number) stats.get("depth")).longValue());
+        lagSeconds.set(((Number) stats.get("lag")).longValue());
+    }
+
+    private void process(long outboxId, long recordId, int attempts) {
+        try {
+            List<Map<String, Object>> records = jdbcTemplate.queryForList(
+                    "SELECT user_id, emotion_type, reason FROM emotion_records WHERE record_id = ?", recordId);
+            if (records.isEmpty()) {
+                // 그 사이 기록이 삭제됨
+                jdbcTemplate.update("DELETE FROM embedding_outbox WHERE outbox_id = ?", outboxId);
+                return;
+            }
+
+            Map<String, Object> record = records.get(0);
+            long userId = ((Number) record.get("user_id")).longValue();
+            String emotionType = (String) record.get("emotion_type");
+            String reason = (String) record.get("reason");
+
+            UnitVector unit = embeddingService.embed(
+                    EmbeddingService.contentOf(emotionType, reason), EmbeddingService.TASK_DOCUMENT);
+
+            // 임베딩하는 동안 내용이 또 바뀌었다면 반영하지 않음 (일기 행이 조건에 맞을 때만 upsert)
+            int updated = jdbcTemplate.update(
+                    "INSERT INTO record_embeddings (record_id, model, task_type, dimension, embedding, embedding_norm, updated_at) " +
+                            "SELECT record_id, ?, ?, ?, ?, ?, now() FROM emotion_records " +
+                            "WHERE record_id = ? AND emotion_type = ? AND reason IS NOT DISTINCT FROM ? " +
+                            "ON CONFLICT (record_id, model, task_type) DO UPDATE SET dimension = EXCLUDED.dimension, " +
+                            "embedding = EXCLUDED.embedding, embedding_norm = EXCLUDED.embedding_norm, updated_at = now()",
+                    embeddingService.model(), EmbeddingService.TASK_DOCUMENT, unit.dimension(),
+                    VectorCodec.encode(unit.values()), unit.norm(), recordId, emotionType, reason);
+            if (updated == 0) {
+                // 다시 읽어서 최신 내용으로 처리하도록 바로 재시도
+                jdbcTemplate.update("UPDATE embedding_outbox SET next_attempt_at = now() WHERE outbox_id = ?", outboxId);
+                return;
+            }
+
+            jdbcTemplate.update("DELETE FROM embedding_outbox WHERE outbox_id = ?", outboxId);
+            vectorIndexCache.upsertAfterCommit(userId, recordId, unit.values());
+            completed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            long backoff = Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(attempts - 1, 20));
+            jdbcTemplate.update(
+                    "UPDATE embedding_outbox SET next_attempt_at = now() + make_interval(secs => ?), last_error = ? " +
+                            "WHERE outbox_id = ?",
+                    backoff, abbreviate(e.getMessage()), outboxId);
+
+            if (attempts >= warnAfterAttempts) {
+                log.warn("Embedding outbox retrying - RecordId: {}, Attempts: {}, NextInSeconds: {}", recordId, attempts, backoff, e);
+            } else {
+                log.debug("Embedding outbox failed - RecordId: {}, Attempts: {}", recordId, attempts);
+            }
+        }
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) return null;
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
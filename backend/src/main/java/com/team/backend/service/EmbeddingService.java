@@ -0,0 +1,164 @@
+package com.team.backend.service;
+
+import com.team.backend.entity.EmbeddingCacheEntry;
+import com.team.backend.exception.ServiceUnavailableException;
+import com.team.backend.repository.EmbeddingCacheRepository;
+import com.team.backend.resilience.GeminiResilience;
+import com.team.backend.vector.UnitVector;
+import com.team.backend.vector.VectorCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 일기 임베딩 생성
+ * - Gemini 임베딩을 받아 단위 벡터로 정규화 (norm은 메타데이터로 보관)
+ * - 저장용(RETRIEVAL_DOCUMENT) / 검색용(RETRIEVAL_QUERY) 구분
+ * - 차원은 gemini.embedding.output-dimensionality 설정을 따름 (잘린 벡터는 정규화가 안 되어 있으므로 여기서 정규화)
+ * - (모델, taskType, 차원, 텍스트 SHA-256) 키로 캐시: 메모리(LRU) → EMBEDDING_CACHE 테이블 → Gemini 순으로 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmbeddingService {
+
+    public static final String TASK_DOCUMENT = "RETRIEVAL_DOCUMENT";
+    public static final String TASK_QUERY = "RETRIEVAL_QUERY";
+
+    private final GeminiService geminiService;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final EmbeddingCacheRepository embeddingCacheRepository;
+
+    @Value("${gemini.embedding.output-dimensionality:768}")
+    private int outputDimensionality;
+
+    @Value("${gemini.embedding.batch.timeout-ms:30000}")
+    private long embedTimeoutMillis;
+
+    @Value("${gemini.embedding.cache.max-entries:10000}")
+    private int maxCacheEntries;
+
+    // 접근 순서 LinkedHashMap = LRU (동시 접근은 synchronized로 보호)
+    private final Map<String, UnitVector> memoryCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UnitVector> eldest) {
+            return size() > maxCacheEntries;
+        }
+    };
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong tableHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * 검색 품질을 높이기 위해 감정 타입과 내용을 조합한 임베딩 입력 텍스트
+     */
+    public static String contentOf(String emotionType, String reason) {
+        return "Emotion: " + emotionType + ", Content: " + reason;
+    }
+
+    /**
+     * 현재 임베딩 모델 (RECORD_EMBEDDINGS / 캐시 키에 함께 기록)
+     */
+    public String model() {
+        return geminiService.embeddingModel();
+    }
+
+    /**
+     * 현재 설정된 임베딩 차원 (검색 시 같은 차원의 벡터끼리만 비교)
+     */
+    public int dimension() {
+        return outputDimensionality;
+    }
+
+    /**
+     * 반환된 벡터는 캐시와 공유되므로 수정하지 말 것
+     */
+    public UnitVector embed(String text, String taskType) {
+        String model = geminiService.embeddingModel();
+        String contentHash = sha256(text);
+        String key = model + '|' + taskType + '|' + outputDimensionality + '|' + contentHash;
+
+        UnitVector cached;
+        synchronized (memoryCache) {
+            cached = memoryCache.get(key);
+        }
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return cached;
+        }
+
+        Optional<EmbeddingCacheEntry> stored = embeddingCacheRepository
+                .findByModelAndTaskTypeAndDimensionAndContentHash(model, taskType, outputDimensionality, contentHash);
+        UnitVector unit;
+        if (stored.isPresent()) {
+            tableHits.incrementAndGet();
+            unit = new UnitVector(stored.get().getEmbedding(), stored.get().getEmbeddingNorm());
+        } else {
+            misses.incrementAndGet();
+            unit = UnitVector.normalize(awaitEmbedding(text, taskType));
+            embeddingCacheRepository.insertIfAbsent(model, taskType, outputDimensionality, contentHash,
+                    VectorCodec.encode(unit.values()), unit.norm());
+        }
+
+        synchronized (memoryCache) {
+            memoryCache.put(key, unit);
+        }
+        return unit;
+    }
+
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (memoryCache) {
+            stats.put("memoryEntries", memoryCache.size());
+        }
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("tableHits", tableHits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    /**
+     * 배처에 맡기고 결과를 기다림 (다른 요청과 묶여 batchEmbedContents로 전송될 수 있음)
+     */
+    private float[] awaitEmbedding(String text, String taskType) {
+        try {
+            return embeddingBatcher.submit(text, taskType, outputDimensionality).get(embedTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("임베딩 생성 실패", e);
+        } catch (ExecutionException e) {
+            // 서킷 OPEN / 한도 초과 / 5xx / 429 / 연결 실패 → 503, 그 밖의 오류는 원인을 담아 일반 실패
+            RuntimeException mapped = GeminiResilience.unavailableOr(e.getCause(), "임베딩 생성 실패");
+            if (!(mapped instanceof ServiceUnavailableException)) {
+                log.error("Embedding Error", e);
+            }
+            throw mapped;
+        } catch (TimeoutException e) {
+            log.error("Embedding Timeout", e);
+            throw new ServiceUnavailableException("AI 서비스 응답이 지연되고 있습니다.", e);
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -3,109 +3,223 @@ package com.team.backend.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.backend.exception.ServiceUnavailableException;
+import com.team.backend.resilience.GeminiResilience;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.*;
 
+import static com.team.backend.resilience.GeminiResilience.Operation.CHAT;
+import static com.team.backend.resilience.GeminiResilience.Operation.EMBEDDING;
+
+/**
+ * Gemini API 호출
+ * - 공유 WebClient(GeminiClientConfig: 커넥션 풀 / HTTP2 / 타임아웃) 사용
+ * - xxxAsync 메서드는 Mono를 반환해 스레드를 붙잡지 않고 조합 가능
+ * - 기존 동기 메서드는 Async 결과를 block() 하는 얇은 래퍼
+ * - 모든 호출은 GeminiResilience(벌크헤드 / 적응형 한도 / 서킷 브레이커)를 거침, 거절·장애 시 ServiceUnavailableException
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GeminiService {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient geminiWebClient;
     private final ObjectMapper objectMapper;
+    private final GeminiResilience resilience;
+
+    // 작업별 전체 타임아웃 (연결 대기 + 요청 + 응답)
+    @Value("${gemini.timeout.embed:10s}")
+    private Duration embedTimeout;
 
-    @Value("${gemini.api-key}")
-    private String apiKey;
+    @Value("${gemini.timeout.batch-embed:30s}")
+    private Duration batchEmbedTimeout;
 
-    private static final String MODEL_EMBEDDING = "gemini-embedding-001";
+    @Value("${gemini.timeout.generate:60s}")
+    private Duration generateTimeout;
+
+    public static final String MODEL_EMBEDDING = "gemini-embedding-001";
     private static final String MODEL_CHAT = "gemini-2.5-flash"; // 또는 "gemini-2.5-flash"
 
-    private static final String BASE_URL = "https://generativelanguage.googleapis.com/v1beta/models/";
+    // baseUrl(.../v1beta) 기준 경로 - "모델명:메서드"가 스킴으로 해석되지 않도록 '/'로 시작
+    private static final String MODELS_PATH = "/models/";
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_STRING =
+            new ParameterizedTypeReference<>() {};
+
+    public String embeddingModel() {
+        return MODEL_EMBEDDING;
+    }
 
     /**
      * 1. 텍스트 임베딩 가져오기
+     * @param outputDimensionality 응답 벡터 차원 (앞부분만 잘라 받는 Matryoshka 방식, 0 이하면 모델 기본 3072)
      */
-    public String getEmbedding(String text, String taskType) {
+    public float[] getEmbedding(String text, String taskType, int outputDimensionality) {
+        try {
+            return getEmbeddingAsync(text, taskType, outputDimensionality).block();
+        } catch (ServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Gemini Embedding Error", e);
+            throw GeminiResilience.unavailableOr(e, "임베딩 생성 실패");
+        }
+    }
+
+    public Mono<float[]> getEmbeddingAsync(String text, String taskType, int outputDimensionality) {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("content", Map.of("parts", List.of(Map.of("text", text))));
         if (taskType != null) requestBody.put("taskType", taskType);
+        if (outputDimensionality > 0) requestBody.put("outputDimensionality", outputDimensionality);
 
-        try {
-            String response = webClientBuilder.build()
-                    .post()
-                    .uri(BASE_URL + MODEL_EMBEDDING + ":embedContent")
-                    .header("x-goog-api-key", apiKey) // 👈 [변경] 헤더 인증 방식 적용
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            JsonNode root = objectMapper.readTree(response);
-            return root.path("embedding").path("values").toString();
+        return resilience.protect(EMBEDDING, () -> post(MODELS_PATH + MODEL_EMBEDDING + ":embedContent", requestBody)
+                .timeout(embedTimeout))
+                .map(response -> toVector(readTree(response).path("embedding").path("values")));
+    }
 
+    /**
+     * 1-1. 여러 텍스트를 한 번의 요청으로 임베딩 (batchEmbedContents)
+     * 결과 순서는 입력 순서와 같음, 실패 시 예외 (어느 항목이 문제인지는 호출 측에서 나눠서 재시도)
+     */
+    public List<float[]> batchEmbed(List<String> texts, List<String> taskTypes, int outputDimensionality) {
+        try {
+            return batchEmbedAsync(texts, taskTypes, outputDimensionality).block();
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Gemini Embedding Error", e);
-            throw new RuntimeException("임베딩 생성 실패");
+            log.warn("Gemini Batch Embedding Error - Size: {}", texts.size(), e);
+            throw GeminiResilience.unavailableOr(e, "배치 임베딩 생성 실패");
+        }
+    }
+
+    public Mono<List<float[]>> batchEmbedAsync(List<String> texts, List<String> taskTypes, int outputDimensionality) {
+        List<Map<String, Object>> requests = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            Map<String, Object> request = new HashMap<>();
+            request.put("model", "models/" + MODEL_EMBEDDING);
+            request.put("content", Map.of("parts", List.of(Map.of("text", texts.get(i)))));
+            if (taskTypes.get(i) != null) request.put("taskType", taskTypes.get(i));
+            if (outputDimensionality > 0) request.put("outputDimensionality", outputDimensionality);
+            requests.add(request);
         }
+
+        return resilience.protect(EMBEDDING, () -> post(MODELS_PATH + MODEL_EMBEDDING + ":batchEmbedContents", Map.of("requests", requests))
+                .timeout(batchEmbedTimeout))
+                .map(response -> {
+                    JsonNode embeddings = readTree(response).path("embeddings");
+                    if (!embeddings.isArray() || embeddings.size() != texts.size()) {
+                        throw new IllegalStateException("배치 임베딩 응답 개수가 요청과 다릅니다.");
+                    }
+
+                    List<float[]> vectors = new ArrayList<>(texts.size());
+                    for (JsonNode embedding : embeddings) {
+                        vectors.add(toVector(embedding.path("values")));
+                    }
+                    return vectors;
+                });
     }
 
     /**
      * 2. 솔루션 생성하기 (채팅)
+     * 실패 시 오류 문구를 솔루션으로 저장하지 않도록 예외로 알림 (GlobalExceptionHandler에서 503)
      */
     public String generateSolution(String prompt) {
-        Map<String, Object> requestBody = Map.of(
+        try {
+            return generateSolutionAsync(prompt).block();
+        } catch (ServiceUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Gemini Chat Error", e);
+            throw new ServiceUnavailableException("AI 서비스 연결 오류", e);
+        }
+    }
+
+    public Mono<String> generateSolutionAsync(String prompt) {
+        return resilience.protect(CHAT, () -> post(MODELS_PATH + MODEL_CHAT + ":generateContent", chatRequest(prompt))
+                .timeout(generateTimeout))
+                .map(response -> {
+                    JsonNode candidates = readTree(response).path("candidates");
+
+                    if (candidates.isEmpty()) return "죄송해요, 답변을 생성하지 못했어요.";
+
+                    return candidates.get(0).path("content").path("parts").get(0).path("text").asText();
+                });
+    }
+
+    /**
+     * 3. 솔루션 생성하기 (스트리밍, streamGenerateContent + SSE)
+     * 생성되는 텍스트 조각을 순서대로 흘려보냄, 구독을 취소하면 Gemini 연결도 끊김
+     */
+    public Flux<String> streamSolution(String prompt) {
+        return resilience.protectFlux(CHAT, () -> geminiWebClient
+                        .post()
+                        .uri(MODELS_PATH + MODEL_CHAT + ":streamGenerateContent?alt=sse")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .bodyValue(chatRequest(prompt))
+                        .retrieve()
+                        .bodyToFlux(SSE_STRING))
+                .mapNotNull(ServerSentEvent::data)
+                .map(this::extractText)
+                .filter(text -> !text.isEmpty())
+                .doOnError(e -> log.error("Gemini Stream Error", e));
+    }
+
+    private Mono<String> post(String path, Object requestBody) {
+        return geminiWebClient
+                .post()
+                .uri(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    private Map<String, Object> chatRequest(String prompt) {
+        return Map.of(
                 "contents", List.of(
                         Map.of("parts", List.of(Map.of("text", prompt)))
                 )
         );
+    }
 
+    private JsonNode readTree(String response) {
         try {
-            String response = webClientBuilder.build()
-                    .post()
-                    .uri(BASE_URL + MODEL_CHAT + ":generateContent")
-                    .header("x-goog-api-key", apiKey) // 👈 [변경] 헤더 인증 방식 적용
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode candidates = root.path("candidates");
-
-            if (candidates.isEmpty()) return "죄송해요, 답변을 생성하지 못했어요.";
+            return objectMapper.readTree(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Gemini 응답을 해석할 수 없습니다.", e);
+        }
+    }
 
-            return candidates.get(0).path("content").path("parts").get(0).path("text").asText();
+    // JSON 문자열로 보관하지 않고 바로 float32 배열로 변환
+    private float[] toVector(JsonNode values) {
+        if (!values.isArray() || values.isEmpty()) {
+            throw new IllegalStateException("임베딩 응답에 values가 없습니다.");
+        }
 
-        } catch (Exception e) {
-            log.error("Gemini Chat Error", e);
-            return "AI 서비스 연결 오류";
+        float[] vector = new float[values.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) values.get(i).asDouble();
         }
+        return vector;
     }
 
-    // ... calculateCosineSimilarity는 그대로 유지 ...
-    public double calculateCosineSimilarity(String vectorA, String vectorB) {
-        try {
-            if (vectorA == null || vectorB == null) return 0.0;
-            double[] v1 = objectMapper.readValue(vectorA, double[].class);
-            double[] v2 = objectMapper.readValue(vectorB, double[].class);
-            if (v1.length != v2.length) return 0.0;
-            double dot = 0.0, nA = 0.0, nB = 0.0;
-            for (int i = 0; i < v1.length; i++) {
-                dot += v1[i] * v2[i];
-                nA += Math.pow(v1[i], 2);
-                nB += Math.pow(v2[i], 2);
-            }
-            return (nA == 0 || nB == 0) ? 0.0 : dot / (Math.sqrt(nA) * Math.sqrt(nB));
-        } catch (JsonProcessingException e) {
-            return 0.0;
+    private String extractText(String chunk) {
+        JsonNode parts = readTree(chunk).path("candidates").path(0).path("content").path("parts");
+        StringBuilder text = new StringBuilder();
+        for (JsonNode part : parts) {
+            text.append(part.path("text").asText(""));
         }
+        return text.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.team.backend.service;
+
+import com.team.backend.entity.EmotionRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 솔루션 생성 프롬프트 조립 (토큰 예산 기반)
+ * - 고정 문구(시스템 지시 / 가이드라인 / 답변 요청)는 클래스 로딩 시 한 번만 만들고 토큰 수도 미리 계산
+ * - 과거 조언은 (유사도 × 평점) 순으로 예산(token-budget)이 찰 때까지 채움
+ * - 거의 같은 조언(문자 bigram 자카드 유사도 dedup-threshold 이상)은 하나만 넣음
+ */
+@Slf4j
+@Component
+public class PromptBuilder {
+
+    // 1~2. 페르소나 + 행동 제안 가이드라인 + 과거 이력 안내 (요청마다 같음)
+    private static final String PREAMBLE = """
+            [시스템 지시사항]
+            당신은 따뜻한 공감 능력과 문제 해결 능력을 겸비한 '라이프 코치'입니다.
+            사용자의 일기를 읽고, 공감과 함께 **'지금 당장 실천할 수 있는 구체적인 행동(Action Item)'**을 포함하여 답변해주세요.
+
+            [행동 제안 가이드라인 (참고용)]
+            사용자의 감정 상태에 따라 아래와 같은 '해결 방향'을 참고하되, **반드시 일기 속 구체적인 상황(장소, 시간, 사건)에 맞춰 자연스럽게 변형**하여 제안하세요.
+            - 기쁨(joy)/평온(calm): 이 순간을 사진, 메모, 음악 등으로 '기록'하거나 '저장'하도록 유도.
+            - 슬픔(sadness): 거창한 해결보다는 따뜻한 차, 산책, 환기 등 기분을 전환할 수 있는 '작은 셀프 케어' 제안.
+            - 화남(anger): 화를 억누르지 말고, 안전하게 에너지를 배출하거나 잠시 자리를 피해서 '열을 식히는 행동' 제안.
+            - 긴장(anxiety): 복잡한 생각 끊기. 심호흡, 주변 사물 관찰하기 등 지금 이 순간 감각에 집중하는 '그라운딩(Grounding)' 제안.
+
+            [주의사항]
+            1. 앵무새처럼 위 예시를 그대로 읊지 마세요. (예: 회사에 있는 사람에게 '이불 속에 들어가라'고 하지 말 것)
+            2. 답변은 **두 문장 이내**로 짧고 간결하게 작성하세요.
+
+            [참고: 이 사용자의 과거 상담 이력 (유사한 상황)]
+            높은 점수(4~5점)를 받은 조언 스타일은 적극 참고하고, 낮은 점수(1~2점)를 받은 조언 스타일은 피해주세요.
+            """;
+
+    private static final String NO_HISTORY = "(과거 이력 없음 - 가이드라인에 맞춰 최적의 답변을 해주세요.)\n";
+
+    // 5. 답변 요청
+    private static final String SUFFIX = """
+            [답변 작성]
+            위 내용을 바탕으로 사용자에게 가장 필요한 위로와 행동 지침을 건네주세요.
+            답변:""";
+
+    private static final int PREAMBLE_TOKENS = estimateTokens(PREAMBLE);
+    private static final int FIXED_TOKENS = PREAMBLE_TOKENS + estimateTokens(NO_HISTORY) + estimateTokens(SUFFIX);
+
+    private static final int MAX_SCORE = 5;
+
+    // 프롬프트 전체 토큰 예산 (고정 문구 + 현재 일기 + 과거 조언)
+    @Value("${solution.prompt.token-budget:2000}")
+    private int tokenBudget;
+
+    @Value("${solution.prompt.dedup-threshold:0.8}")
+    private double dedupThreshold;
+
+    /**
+     * 과거 조언 후보 (similarity: 현재 일기와의 코사인 유사도)
+     */
+    public record HistoryItem(String content, int evalScore, float similarity) {
+    }
+
+    public String build(EmotionRecord current, List<HistoryItem> history) {
+        String currentSection = currentSection(current);
+        int remaining = tokenBudget - FIXED_TOKENS - estimateTokens(currentSection);
+
+        List<String> lines = selectHistory(history, remaining);
+
+        StringBuilder prompt = new StringBuilder(PREAMBLE.length() + currentSection.length() + SUFFIX.length() + 512);
+        prompt.append(PREAMBLE);
+        if (lines.isEmpty()) {
+            prompt.append(NO_HISTORY);
+        } else {
+            lines.forEach(prompt::append);
+        }
+        prompt.append("\n");
+        prompt.append(currentSection);
+        prompt.append(SUFFIX);
+        return prompt.toString();
+    }
+
+    /**
+     * (유사도 × 평점) 높은 순으로 예산 안에서 탐욕적으로 선택, 거의 같은 조언은 건너뜀
+     */
+    private List<String> selectHistory(List<HistoryItem> history, int budget) {
+        List<HistoryItem> ranked = new ArrayList<>(history);
+        ranked.sort(Comparator.comparingDouble(PromptBuilder::priority).reversed());
+
+        List<String> lines = new ArrayList<>();
+        List<Set<String>> selectedShingles = new ArrayList<>();
+        int used = 0;
+        for (HistoryItem item : ranked) {
+            String line = historyLine(item);
+            int tokens = estimateTokens(line);
+            if (used + tokens > budget) continue; // 더 짧은 후보는 아직 들어갈 수 있음
+
+            Set<String> shingles = bigrams(item.content());
+            if (isNearDuplicate(shingles, selectedShingles)) continue;
+
+            lines.add(line);
+            selectedShingles.add(shingles);
+            used += tokens;
+        }
+
+        if (lines.size() < history.size()) {
+            log.debug("Prompt history trimmed - Candidates: {}, Selected: {}, Tokens: {}/{}", history.size(), lines.size(), used, budget);
+        }
+        return lines;
+    }
+
+    private static double priority(HistoryItem item) {
+        return Math.max(item.similarity(), 0f) * ((double) item.evalScore() / MAX_SCORE);
+    }
+
+    private static String historyLine(HistoryItem item) {
+        return "- 조언: \"" + item.content() + "\"\n" +
+                "  (평가: " + item.evalScore() + "점)\n";
+    }
+
+    // 4. 현재 상황 입력
+    private static String currentSection(EmotionRecord current) {
+        return "[현재 사용자의 상황]\n" +
+                "- 감정: " + current.getEmotionType() + "\n" +
+                "- 감정 강도(0~100): " + current.getLevel() + "\n" +
+                "- 일기 내용: \"" + current.getReason() + "\"\n\n";
+    }
+
+    private boolean isNearDuplicate(Set<String> shingles, List<Set<String>> selected) {
+        for (Set<String> other : selected) {
+            if (jaccard(shingles, other) >= dedupThreshold) return true;
+        }
+        return false;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) return 1.0;
+        int intersection = 0;
+        for (String shingle : a) {
+            if (b.contains(shingle)) intersection++;
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    // 공백 / 문장부호를 제외한 글자 bigram (표현만 조금 다른 같은 조언을 묶기 위함)
+    private static Set<String> bigrams(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        text.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .forEach(normalized::appendCodePoint);
+
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            shingles.add(normalized.substring(i, i + 2));
+        }
+        return shingles;
+    }
+
+    /**
+     * 토큰 수 추정 (토크나이저 호출 없이 보수적으로)
+     * - 한글 / 한자 등은 글자당 약 1토큰, 영문 / 숫자 / 공백은 약 4글자당 1토큰
+     */
+    static int estimateTokens(String text) {
+        int wide = 0;
+        int narrow = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) narrow++;
+            else wide++;
+        }
+        return wide + (narrow + 3) / 4;
+    }
+}
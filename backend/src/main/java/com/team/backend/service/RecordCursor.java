@@ -0,0 +1,33 @@
+package com.team.backend.service;
+
+import com.team.backend.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 타임라인 커서 (마지막으로 본 기록의 recorded_at, record_id)
+ * 클라이언트에는 내용을 해석할 필요 없는 base64url 토큰으로만 노출
+ */
+record RecordCursor(LocalDateTime recordedAt, Long recordId) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String raw = recordedAt.toString() + SEPARATOR + recordId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RecordCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new RecordCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("유효하지 않은 커서입니다.", e);
+        }
+    }
+}
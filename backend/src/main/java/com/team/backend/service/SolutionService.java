@@ -2,16 +2,32 @@ package com.team.backend.service;
 
 import com.team.backend.dto.SolutionResponse;
 import com.team.backend.entity.*;
+import com.team.backend.exception.ConflictException;
 import com.team.backend.repository.EmotionRecordRepository;
+import com.team.backend.repository.RecordEmbeddingRepository;
+import com.team.backend.repository.RecordEmbeddingView;
 import com.team.backend.repository.SolutionLogRepository;
 import com.team.backend.repository.SolutionRepository;
+import com.team.backend.vector.ScoredId;
+import com.team.backend.vector.SimilarityKernel;
+import com.team.backend.vector.TopK;
+import com.team.backend.vector.UnitVector;
+import com.team.backend.vector.UserVectorIndexCache;
+import com.team.backend.vector.VectorIndex;
+import com.team.backend.vector.VectorIndexFactory;
+import com.team.backend.vector.VectorCodec;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -19,61 +35,140 @@ import java.util.stream.Collectors;
 public class SolutionService {
 
     private final EmotionRecordRepository emotionRecordRepository;
+    private final RecordEmbeddingRepository recordEmbeddingRepository;
     private final SolutionRepository solutionRepository;
     private final SolutionLogRepository solutionLogRepository;
     private final GeminiService geminiService;
+    private final EmbeddingService embeddingService;
+    private final UserVectorIndexCache vectorIndexCache;
+    private final SimilarityKernel similarityKernel;
+    private final VectorIndexFactory vectorIndexFactory;
+    private final PromptBuilder promptBuilder;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${vector-index.rerank-candidates:40}")
+    private int rerankCandidates;
+
+    // 프롬프트에 넣을 유사 일기당 최대 과거 조언 수 (최신순)
+    @Value("${solution.history.logs-per-record:3}")
+    private int historyLogsPerRecord;
+
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    void initTransactions() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 솔루션 생성에 필요한 준비 결과 (1단계 조회 시점의 일기 버전 포함)
+     * newQueryEmbedding: 이번에 새로 만든 쿼리 임베딩 (저장 단계에서 함께 보관, 기존 것을 재사용했으면 null)
+     */
+    public record PreparedGeneration(Long recordId, Long recordVersion, String prompt, UnitVector newQueryEmbedding) {
+    }
 
     /**
      * 1. 솔루션 생성 (RAG: Retrieval-Augmented Generation)
+     * Gemini 호출(임베딩 / 채팅)이 수 초씩 걸리므로 트랜잭션을 짧은 단계로 나눔 (호출 동안 DB 커넥션을 잡지 않음)
+     * - 1단계(읽기 트랜잭션): 일기 조회 + 권한 확인
+     * - 2단계(트랜잭션 없음): 쿼리 임베딩 + 유사 기록 검색 + 프롬프트 구성 + 솔루션 생성
+     * - 3단계(쓰기 트랜잭션): 일기가 그 사이 수정되지 않았는지 버전 확인 후 Solution upsert + SolutionLog 추가
      */
-    @Transactional
     public SolutionResponse generateSolution(User user, Long recordId) {
-        // 1. 현재 일기 조회
-        EmotionRecord currentRecord = emotionRecordRepository.findById(recordId)
-                .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없습니다."));
+        // 1~5. 조회 / 검색 / 프롬프트 구성
+        PreparedGeneration prepared = prepareGeneration(user, recordId);
 
-        if (!currentRecord.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("본인의 일기에만 솔루션을 생성할 수 있습니다.");
-        }
+        // 6. Gemini 호출 (솔루션 생성)
+        String aiReply = geminiService.generateSolution(prepared.prompt());
 
-        // 2. 현재 일기의 텍스트 임베딩 생성 (목적: 검색용 Query)
-        String contentForEmbedding = "Emotion: " + currentRecord.getEmotionType() +
-                ", Content: " + currentRecord.getReason();
+        // 7. 결과 저장
+        return saveGeneratedSolution(user, prepared, aiReply);
+    }
+
+    /**
+     * 1-1. 프롬프트 준비 (스트리밍 생성도 사용, Gemini 채팅 호출은 호출 측에서 수행)
+     */
+    public PreparedGeneration prepareGeneration(User user, Long recordId) {
+        // 1. 현재 일기 + 보관된 쿼리 임베딩 조회 (트랜잭션 종료 후에는 분리된 엔티티의 기본 필드만 사용)
+        LoadedRecord loaded = readTransaction.execute(status -> new LoadedRecord(
+                findOwnedRecord(user, recordId), findStoredQueryEmbedding(recordId)));
+        EmotionRecord currentRecord = loaded.record();
+
+        // 2~3. 현재 일기의 검색용(RETRIEVAL_QUERY) 임베딩 준비
+        // 저장된 문서 임베딩(RETRIEVAL_DOCUMENT)은 건드리지 않고, 쿼리 임베딩은 따로 보관해 재생성 시 재사용
+        UnitVector newQueryEmbedding = null;
+        float[] queryVector = loaded.queryEmbedding();
+        if (queryVector == null) {
+            newQueryEmbedding = embedQuery(currentRecord);
+            queryVector = newQueryEmbedding.values();
+        }
 
-        // Gemini에게 "이것은 검색을 위한 쿼리(RETRIEVAL_QUERY)다"라고 명시
-        String currentEmbedding = geminiService.getEmbedding(contentForEmbedding, "RETRIEVAL_QUERY");
+        // 4. [RAG 핵심] 유사도 기반 과거 기록 Top 10 찾기 (ID + 유사도)
+        List<ScoredId> similarRecords = findTop10SimilarRecords(user, currentRecord, queryVector);
 
-        // 3. 임베딩 DB에 저장 (나중에 검색될 문서(RETRIEVAL_DOCUMENT)로 쓰기 위해)
-        currentRecord.updateEmbedding(currentEmbedding);
+        // 5. [프롬프트 구성] 가이드라인 + 과거 로그(토큰 예산 안에서 유사도 × 평점 순) + 현재 상황
+        String prompt = promptBuilder.build(currentRecord, findRatedHistory(similarRecords));
+        return new PreparedGeneration(currentRecord.getId(), currentRecord.getVersion(), prompt, newQueryEmbedding);
+    }
 
-        // 4. [RAG 핵심] 유사도 기반 과거 기록 Top 10 찾기
-        List<EmotionRecord> similarRecords = findTop10SimilarRecords(user, currentRecord, currentEmbedding);
+    /**
+     * 1-2. 생성 완료 후 최종 텍스트 저장 (짧은 쓰기 트랜잭션)
+     * 준비 이후 일기가 수정됐으면(버전 변경) 이전 내용으로 만든 답변이므로 저장하지 않음 (409)
+     */
+    public SolutionResponse saveGeneratedSolution(User user, PreparedGeneration prepared, String content) {
+        return writeTransaction.execute(status -> {
+            // OPTIMISTIC 잠금: 커밋 직전에 버전을 다시 확인해 저장 도중의 수정도 감지
+            EmotionRecord record = emotionRecordRepository.findWithVersionCheckById(prepared.recordId())
+                    .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없습니다."));
+            validateOwnership(user, record);
+            if (!Objects.equals(record.getVersion(), prepared.recordVersion())) {
+                throw new ConflictException("솔루션을 만드는 동안 일기가 수정되었습니다. 다시 생성해주세요.");
+            }
 
-        // 5. [프롬프트 구성] 가이드라인 + 과거 로그 + 현재 상황
-        String finalPrompt = buildPromptWithFullHistory(currentRecord, similarRecords);
+            if (prepared.newQueryEmbedding() != null) {
+                // RECORD_EMBEDDINGS에 보관 (일기 행을 건드리지 않으므로 버전도 그대로)
+                UnitVector query = prepared.newQueryEmbedding();
+                recordEmbeddingRepository.upsert(record.getId(), embeddingService.model(), EmbeddingService.TASK_QUERY,
+                        query.dimension(), VectorCodec.encode(query.values()), query.norm());
+            }
+            return saveSolution(record, content);
+        });
+    }
 
-        // 6. Gemini 호출 (솔루션 생성)
-        String aiReply = geminiService.generateSolution(finalPrompt);
+    private EmotionRecord findOwnedRecord(User user, Long recordId) {
+        EmotionRecord record = emotionRecordRepository.findById(recordId)
+                .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없습니다."));
 
-        // 7. 결과 저장 (로직 변경)
+        validateOwnership(user, record);
+        return record;
+    }
 
-        // 7-1. 화면 표시용 Solution 저장 (Upsert: 있으면 수정, 없으면 생성)
-        Solution solution = solutionRepository.findByEmotionRecord(currentRecord)
+    // 현재 모델 / 차원과 맞는 쿼리 임베딩만 재사용
+    private float[] findStoredQueryEmbedding(Long recordId) {
+        return recordEmbeddingRepository.findByKey(recordId, embeddingService.model(), EmbeddingService.TASK_QUERY)
+                .filter(stored -> stored.getDimension() == embeddingService.dimension())
+                .map(RecordEmbedding::getEmbedding)
                 .orElse(null);
+    }
 
-        if (solution != null) {
-            // 이미 존재하면 -> 내용만 갈아끼우기 (Update)
-            solution.updateContent(aiReply);
-            // JPA의 Dirty Checking(변경 감지)에 의해 트랜잭션 종료 시 자동 update 쿼리 나감
-        } else {
-            // 없으면 -> 새로 만들기 (Insert)
-            solution = Solution.builder()
-                    .emotionRecord(currentRecord)
-                    .content(aiReply)
-                    .evalScore(0)
-                    .build();
-            solutionRepository.save(solution);
+    private record LoadedRecord(EmotionRecord record, float[] queryEmbedding) {
+    }
+
+    private void validateOwnership(User user, EmotionRecord record) {
+        if (!record.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("본인의 일기에만 솔루션을 생성할 수 있습니다.");
         }
+    }
+
+    private SolutionResponse saveSolution(EmotionRecord currentRecord, String aiReply) {
+        // 7-1. 화면 표시용 Solution 저장 (Upsert: 있으면 수정, 없으면 생성)
+        // INSERT ... ON CONFLICT 한 문장이라 같은 일기를 동시에 저장해도 unique 제약 충돌이 나지 않음
+        solutionRepository.upsertContent(currentRecord.getId(), aiReply);
+        Long solutionId = solutionRepository.findIdByRecordId(currentRecord.getId())
+                .orElseThrow(() -> new IllegalStateException("솔루션 저장에 실패했습니다."));
 
         // 7-2. 학습 데이터용 SolutionLog 저장
         // 로그는 "히스토리" 개념이므로, 재생성할 때마다 계속 쌓는 게 맞습니다. (나중에 "이런 답변은 싫어했다"는 데이터로 활용 가능)
@@ -85,8 +180,8 @@ public class SolutionService {
         solutionLogRepository.save(log);
 
         return SolutionResponse.builder()
-                .solutionId(solution.getId())
-                .content(solution.getContent())
+                .solutionId(solutionId)
+                .content(aiReply)
                 .build();
     }
 
@@ -114,83 +209,91 @@ public class SolutionService {
     // ==========================================
 
     /**
-     * In-Memory 코사인 유사도 계산 -> Top 10 추출
+     * 보관된 쿼리 임베딩이 없거나 현재 차원 설정과 다를 때 새로 생성 (저장은 3단계에서)
+     * (같은 텍스트면 임베딩 캐시에서 바로 나옴)
+     */
+    private UnitVector embedQuery(EmotionRecord record) {
+        String contentForEmbedding = EmbeddingService.contentOf(record.getEmotionType(), record.getReason());
+        // Gemini에게 "이것은 검색을 위한 쿼리(RETRIEVAL_QUERY)다"라고 명시 (단위 벡터로 정규화됨)
+        return embeddingService.embed(contentForEmbedding, EmbeddingService.TASK_QUERY);
+    }
+
+    /**
+     * 유사도 Top 10 추출
+     * - 벡터 인덱스 캐시 사용 시: 메모리 인덱스(flat / hnsw / int8)에서 검색
+     * - 미사용 시: (ID, 임베딩) 프로젝션을 커서로 읽으며 크기 10의 min-heap에 점수 반영
+     * 프롬프트에는 과거 조언만 필요하므로 일기 엔티티는 조회하지 않음
+     * 저장된 임베딩과 쿼리 모두 단위 벡터이므로 점수는 내적만으로 계산
      */
-    private List<EmotionRecord> findTop10SimilarRecords(User user, EmotionRecord current, String currentVector) {
-        List<EmotionRecord> candidates = emotionRecordRepository.findAllByUserAndEmbeddingIsNotNullAndIdNot(user, current.getId());
+    private List<ScoredId> findTop10SimilarRecords(User user, EmotionRecord current, float[] currentVector) {
+        List<ScoredId> top;
+        if (vectorIndexCache.isEnabled()) {
+            VectorIndex index = vectorIndexCache.getOrLoad(user.getId(),
+                    () -> readTransaction.execute(status -> loadVectorIndex(user, currentVector.length)));
+            if (index.exactScores()) {
+                top = index.search(currentVector, 10, current.getId());
+            } else {
+                // int8 양자화 인덱스: 근사 점수로 후보를 넉넉히 뽑고 원본 벡터로 재정렬
+                top = rerankWithExactVectors(index.search(currentVector, rerankCandidates, current.getId()), currentVector, 10);
+            }
+        } else {
+            top = readTransaction.execute(status -> scanTopK(user, current, currentVector, 10));
+        }
 
+        return top;
+    }
+
+    private List<ScoredId> scanTopK(User user, EmotionRecord current, float[] currentVector, int k) {
+        TopK topK = new TopK(k);
+        try (Stream<RecordEmbeddingView> candidates = recordEmbeddingRepository.streamByUserId(
+                user.getId(), embeddingService.model(), EmbeddingService.TASK_DOCUMENT, currentVector.length)) {
+            candidates.forEach(candidate -> {
+                float[] vector = candidate.getEmbedding();
+                if (candidate.getId().equals(current.getId()) || vector.length != currentVector.length) return;
+                topK.offer(candidate.getId(), similarityKernel.dot(currentVector, vector));
+            });
+        }
+        return topK.result();
+    }
+
+    private List<ScoredId> rerankWithExactVectors(List<ScoredId> candidates, float[] currentVector, int k) {
         if (candidates.isEmpty()) {
             return Collections.emptyList();
         }
 
-        Map<EmotionRecord, Double> scoreMap = new HashMap<>();
-        for (EmotionRecord target : candidates) {
-            double score = geminiService.calculateCosineSimilarity(currentVector, target.getEmbedding());
-            scoreMap.put(target, score);
+        List<Long> ids = candidates.stream().map(ScoredId::id).collect(Collectors.toList());
+        TopK topK = new TopK(k);
+        for (RecordEmbeddingView row : recordEmbeddingRepository.findByRecordIdIn(
+                ids, embeddingService.model(), EmbeddingService.TASK_DOCUMENT)) {
+            float[] vector = row.getEmbedding();
+            if (vector.length != currentVector.length) continue;
+            topK.offer(row.getId(), similarityKernel.dot(currentVector, vector));
         }
+        return topK.result();
+    }
 
-        return scoreMap.entrySet().stream()
-                .sorted(Map.Entry.<EmotionRecord, Double>comparingByValue().reversed())
-                .limit(10)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+    private VectorIndex loadVectorIndex(User user, int dimension) {
+        VectorIndex index = vectorIndexFactory.create(dimension);
+        try (Stream<RecordEmbeddingView> rows = recordEmbeddingRepository.streamByUserId(
+                user.getId(), embeddingService.model(), EmbeddingService.TASK_DOCUMENT, dimension)) {
+            rows.forEach(row -> index.upsert(row.getId(), row.getEmbedding()));
+        }
+        return index;
     }
 
     /**
-     * 프롬프트 조립 (핵심: 행동 제안 가이드라인 추가)
+     * 유사 일기들의 평가된 과거 조언을 한 번의 쿼리로 조회하고 각 조언에 해당 일기의 유사도를 붙임
      */
-    private String buildPromptWithFullHistory(EmotionRecord current, List<EmotionRecord> similarRecords) {
-        StringBuilder prompt = new StringBuilder();
-
-        // 1. 페르소나 및 기본 역할
-        prompt.append("[시스템 지시사항]\n");
-        prompt.append("당신은 따뜻한 공감 능력과 문제 해결 능력을 겸비한 '라이프 코치'입니다.\n");
-        prompt.append("사용자의 일기를 읽고, 공감과 함께 **'지금 당장 실천할 수 있는 구체적인 행동(Action Item)'**을 포함하여 답변해주세요.\n\n");
-
-        // 2. [New] 행동 제안 가이드라인 (맥락에 맞게 변형 유도)
-        prompt.append("[행동 제안 가이드라인 (참고용)]\n");
-        prompt.append("사용자의 감정 상태에 따라 아래와 같은 '해결 방향'을 참고하되, **반드시 일기 속 구체적인 상황(장소, 시간, 사건)에 맞춰 자연스럽게 변형**하여 제안하세요.\n");
-        prompt.append("- 기쁨(joy)/평온(calm): 이 순간을 사진, 메모, 음악 등으로 '기록'하거나 '저장'하도록 유도.\n");
-        prompt.append("- 슬픔(sadness): 거창한 해결보다는 따뜻한 차, 산책, 환기 등 기분을 전환할 수 있는 '작은 셀프 케어' 제안.\n");
-        prompt.append("- 화남(anger): 화를 억누르지 말고, 안전하게 에너지를 배출하거나 잠시 자리를 피해서 '열을 식히는 행동' 제안.\n");
-        prompt.append("- 긴장(anxiety): 복잡한 생각 끊기. 심호흡, 주변 사물 관찰하기 등 지금 이 순간 감각에 집중하는 '그라운딩(Grounding)' 제안.\n\n");
-
-        prompt.append("[주의사항]\n");
-        prompt.append("1. 앵무새처럼 위 예시를 그대로 읊지 마세요. (예: 회사에 있는 사람에게 '이불 속에 들어가라'고 하지 말 것)\n");
-        prompt.append("2. 답변은 **두 문장 이내**로 짧고 간결하게 작성하세요.\n\n");
-
-        // 3. 과거 데이터 주입 (RAG)
-        prompt.append("[참고: 이 사용자의 과거 상담 이력 (유사한 상황)]\n");
-        prompt.append("높은 점수(4~5점)를 받은 조언 스타일은 적극 참고하고, 낮은 점수(1~2점)를 받은 조언 스타일은 피해주세요.\n");
-
-        boolean hasHistory = false;
-        for (EmotionRecord record : similarRecords) {
-            List<SolutionLog> logs = solutionLogRepository.findAllByEmotionRecord(record);
-            for (SolutionLog logData : logs) {
-                if (logData.getEvalScore() > 0) {
-                    prompt.append("- 조언: \"").append(logData.getContent()).append("\"\n");
-                    prompt.append("  (평가: ").append(logData.getEvalScore()).append("점)\n");
-                    hasHistory = true;
-                }
-            }
-        }
-
-        if (!hasHistory) {
-            prompt.append("(과거 이력 없음 - 가이드라인에 맞춰 최적의 답변을 해주세요.)\n");
+    private List<PromptBuilder.HistoryItem> findRatedHistory(List<ScoredId> similarRecords) {
+        if (similarRecords.isEmpty()) {
+            return Collections.emptyList();
         }
-        prompt.append("\n");
-
-        // 4. 현재 상황 입력
-        prompt.append("[현재 사용자의 상황]\n");
-        prompt.append("- 감정: ").append(current.getEmotionType()).append("\n");
-        prompt.append("- 감정 강도(0~100): ").append(current.getLevel()).append("\n");
-        prompt.append("- 일기 내용: \"").append(current.getReason()).append("\"\n\n");
 
-        // 5. 답변 요청
-        prompt.append("[답변 작성]\n");
-        prompt.append("위 내용을 바탕으로 사용자에게 가장 필요한 위로와 행동 지침을 건네주세요.\n");
-        prompt.append("답변:");
+        Map<Long, Float> similarityById = new HashMap<>();
+        similarRecords.forEach(scored -> similarityById.put(scored.id(), scored.score()));
 
-        return prompt.toString();
+        return solutionLogRepository.findRatedByRecordIds(similarityById.keySet(), historyLogsPerRecord).stream()
+                .map(row -> new PromptBuilder.HistoryItem(row.getContent(), row.getEvalScore(), similarityById.get(row.getRecordId())))
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
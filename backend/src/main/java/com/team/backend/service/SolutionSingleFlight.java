@@ -0,0 +1,143 @@
+package com.team.backend.service;
+
+import com.team.backend.dto.SolutionResponse;
+import com.team.backend.entity.User;
+import com.team.backend.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 같은 일기에 대한 솔루션 생성 요청 합치기 (single-flight)
+ * - 생성 중인 recordId로 다시 요청이 오면 새로 만들지 않고 진행 중인 결과를 함께 기다림
+ * - 생성이 끝난 직후 completed-ttl 동안은 같은 결과를 그대로 돌려줌 (더블 탭 / 클라이언트 재시도)
+ * - 일기 수정 / 삭제 시 커밋 이후 해당 recordId의 보관 결과 제거
+ * - 스트리밍 생성(SolutionStreamService)도 같은 보관 결과를 공유 (recent / remember)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SolutionSingleFlight {
+
+    private final SolutionService solutionService;
+
+    private final Map<Long, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, Completed> completed = new ConcurrentHashMap<>();
+
+    @Value("${solution.single-flight.completed-ttl:5s}")
+    private Duration completedTtl;
+
+    // 먼저 시작한 요청의 결과를 기다리는 최대 시간 (Gemini 생성 타임아웃보다 길게)
+    @Value("${solution.single-flight.wait-timeout:90s}")
+    private Duration waitTimeout;
+
+    public SolutionResponse generate(User user, Long recordId) {
+        SolutionResponse recent = recent(user, recordId);
+        if (recent != null) {
+            return recent;
+        }
+
+        Flight flight = new Flight(user.getId());
+        Flight existing = inFlight.putIfAbsent(recordId, flight);
+        if (existing != null) {
+            // 다른 사용자의 일기면 합치지 않음 (소유권 검사에서 실패하도록 그대로 실행)
+            if (!existing.userId.equals(user.getId())) {
+                return solutionService.generateSolution(user, recordId);
+            }
+            log.debug("Solution request joined in-flight generation - RecordId: {}", recordId);
+            return await(existing);
+        }
+
+        try {
+            SolutionResponse response = solutionService.generateSolution(user, recordId);
+            remember(user, recordId, response);
+            flight.future.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(recordId, flight);
+        }
+    }
+
+    /**
+     * completed-ttl 안에 같은 사용자가 생성한 결과 (없으면 null)
+     */
+    public SolutionResponse recent(User user, Long recordId) {
+        Completed recent = completed.get(recordId);
+        if (recent == null || !recent.userId().equals(user.getId())) {
+            return null;
+        }
+        if (System.nanoTime() >= recent.expiresAt()) {
+            completed.remove(recordId, recent);
+            return null;
+        }
+        log.debug("Solution served from completed window - RecordId: {}", recordId);
+        return recent.response();
+    }
+
+    public void remember(User user, Long recordId, SolutionResponse response) {
+        evictExpired();
+        completed.put(recordId, new Completed(user.getId(), response, System.nanoTime() + completedTtl.toNanos()));
+    }
+
+    /**
+     * 일기 내용이 바뀌거나 삭제되면 보관 중인 결과는 더 이상 유효하지 않음
+     */
+    public void invalidateAfterCommit(Long recordId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    completed.remove(recordId);
+                }
+            });
+        } else {
+            completed.remove(recordId);
+        }
+    }
+
+    private SolutionResponse await(Flight flight) {
+        try {
+            return flight.future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("AI 서비스 연결 오류", e);
+        } catch (ExecutionException e) {
+            // 먼저 시작한 요청과 같은 예외로 실패 (GlobalExceptionHandler에서 같은 응답 코드)
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("AI 서비스 응답이 지연되고 있습니다.", e);
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        completed.values().removeIf(entry -> now >= entry.expiresAt());
+    }
+
+    private static class Flight {
+        private final Long userId;
+        private final CompletableFuture<SolutionResponse> future = new CompletableFuture<>();
+
+        private Flight(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    private record Completed(Long userId, SolutionResponse response, long expiresAt) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.team.backend.service;
+
+import com.team.backend.dto.SolutionResponse;
+import com.team.backend.entity.User;
+import com.team.backend.exception.ConflictException;
+import com.team.backend.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 솔루션 스트리밍 생성 (SSE)
+ * - 프롬프트 준비는 기존 RAG 로직(SolutionService) 그대로 사용
+ * - Gemini streamGenerateContent 조각을 받는 즉시 "token" 이벤트로 전달
+ * - 완료되면 전체 텍스트를 Solution / SolutionLog에 저장 후 "done" 이벤트 (solutionId 포함)
+ * - 같은 일기에 대한 중복 요청(더블 탭 / 재시도)은 진행 중인 생성 하나를 함께 구독 (앞부분 토큰은 다시 재생)
+ *   생성이 끝난 직후에는 SolutionSingleFlight의 보관 결과를 바로 "done"으로 응답
+ * - 구독 중인 클라이언트가 모두 떠나면 Gemini 스트림도 취소 (중간까지 받은 텍스트는 저장하지 않음)
+ * - SSE 전송과 저장(JDBC)은 블로킹이므로 Netty 이벤트 루프가 아닌 boundedElastic 스레드에서 처리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SolutionStreamService {
+
+    private final SolutionService solutionService;
+    private final SolutionSingleFlight solutionSingleFlight;
+    private final GeminiService geminiService;
+
+    private final Map<Long, StreamFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${gemini.stream.timeout-ms:120000}")
+    private long timeoutMillis;
+
+    public SseEmitter streamSolution(User user, Long recordId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+        SolutionResponse recent = solutionSingleFlight.recent(user, recordId);
+        if (recent != null) {
+            send(emitter, "done", recent);
+            emitter.complete();
+            return emitter;
+        }
+
+        StreamFlight existing = inFlight.get(recordId);
+        if (existing == null || !existing.userId.equals(user.getId())) {
+            // 권한 / 조회 오류는 스트림 시작 전에 예외로 처리 (GlobalExceptionHandler)
+            // 검색 / 프롬프트 준비는 트랜잭션 밖에서, 저장만 짧은 트랜잭션으로 (SolutionService 참고)
+            SolutionService.PreparedGeneration prepared = solutionService.prepareGeneration(user, recordId);
+
+            StreamFlight flight = new StreamFlight(user, recordId, prepared);
+            existing = inFlight.putIfAbsent(recordId, flight);
+            if (existing == null || !existing.userId.equals(user.getId())) {
+                // 먼저 등록된 생성이 없거나(또는 다른 사용자) → 이번 요청이 새로 생성
+                existing = flight;
+            } else {
+                // 준비하는 사이 같은 일기의 생성이 먼저 등록됨 → 구독 전이므로 Gemini 호출 없이 버림
+                log.debug("Solution stream joined in-flight generation - RecordId: {}", recordId);
+            }
+        } else {
+            log.debug("Solution stream joined in-flight generation - RecordId: {}", recordId);
+        }
+
+        Disposable subscription = existing.events
+                // 구독자마다 따로 전송 (느린 클라이언트가 다른 구독자나 업스트림을 막지 않도록)
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        event -> send(emitter, event.name(), event.data()), // 전송 실패(연결 끊김) 시 예외 → 구독 취소
+                        error -> {
+                            log.warn("Solution stream send failed - RecordId: {}, Reason: {}", recordId, error.getMessage());
+                            emitter.completeWithError(error);
+                        },
+                        emitter::complete);
+
+        // 클라이언트 연결 종료 / 타임아웃 시 구독 취소 (마지막 구독자면 Gemini 요청도 취소)
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        emitter.onCompletion(subscription::dispose);
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 일기 하나에 대한 진행 중인 스트리밍 생성
+     * events는 토큰 → done / error 순서의 이벤트를 한 번만 만들어 모든 구독자에게 재생 (저장도 한 번)
+     * - 종료 이벤트를 내보내기 전에 inFlight에서 빠지므로 이후 요청은 보관 결과(SolutionSingleFlight) / 새 생성으로 감
+     * - 그 사이 이미 꺼내 간 요청이 종료 후 다시 연결하면 Gemini를 다시 부르지 않고 종료 이벤트만 받음
+     * - 모든 구독자가 떠나 취소된 뒤 다시 연결되면 (누적 텍스트까지) 처음부터 새로 생성
+     */
+    private class StreamFlight {
+        private final Long userId;
+        private final Long recordId;
+        private final Flux<StreamEvent> events;
+        private volatile StreamEvent terminal;
+
+        private StreamFlight(User user, Long recordId, SolutionService.PreparedGeneration prepared) {
+            this.userId = user.getId();
+            this.recordId = recordId;
+            this.events = Flux.defer(() -> terminal != null ? Flux.just(terminal) : generate(user, prepared))
+                    .replay()
+                    .refCount();
+        }
+
+        // 연결마다 새로 만듦 (StringBuilder가 이전 연결의 토큰을 이어 붙이지 않도록)
+        private Flux<StreamEvent> generate(User user, SolutionService.PreparedGeneration prepared) {
+            StringBuilder fullText = new StringBuilder();
+            return geminiService.streamSolution(prepared.prompt())
+                    // 이후 신호(토큰 누적 / 완료 시 저장)는 이벤트 루프 밖에서 (같은 루프의 다른 WebClient 연결이 멈추지 않도록)
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnNext(fullText::append)
+                    .map(token -> new StreamEvent("token", token))
+                    .concatWith(Mono.fromCallable(() -> finish(complete(user, recordId, prepared, fullText))))
+                    .onErrorResume(error -> Mono.just(finish(failed(recordId, error))))
+                    .doOnCancel(() -> inFlight.remove(recordId, this));
+        }
+
+        private StreamEvent finish(StreamEvent event) {
+            terminal = event;
+            inFlight.remove(recordId, this);
+            return event;
+        }
+    }
+
+    private StreamEvent complete(User user, Long recordId, SolutionService.PreparedGeneration prepared, StringBuilder fullText) {
+        if (fullText.length() == 0) {
+            return new StreamEvent("error", Map.of("message", "죄송해요, 답변을 생성하지 못했어요."));
+        }
+        SolutionResponse saved = solutionService.saveGeneratedSolution(user, prepared, fullText.toString());
+        solutionSingleFlight.remember(user, recordId, saved);
+        return new StreamEvent("done", saved);
+    }
+
+    private StreamEvent failed(Long recordId, Throwable error) {
+        String message;
+        if (error instanceof ServiceUnavailableException || error instanceof ConflictException) {
+            // 503: 잠시 후 재시도 / 409: 생성 도중 일기가 수정됨 → 저장하지 않고 다시 생성하도록 안내
+            message = error.getMessage();
+            log.warn("Solution stream aborted - RecordId: {}, Reason: {}", recordId, error.getMessage());
+        } else {
+            message = "AI 서비스 연결 오류";
+            log.error("Solution stream failed - RecordId: {}", recordId, error);
+        }
+        return new StreamEvent("error", Map.of("message", message));
+    }
+
+    private record StreamEvent(String name, Object data) {
+    }
+}
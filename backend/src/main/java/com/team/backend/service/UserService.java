@@ -4,9 +4,11 @@ import com.team.backend.dto.UserInfoResponse;
 import com.team.backend.entity.User;
 import com.team.backend.exception.ResourceNotFoundException;
 import com.team.backend.repository.EmotionRecordRepository;
+import com.team.backend.repository.RecordEmbeddingRepository;
 import com.team.backend.repository.SolutionLogRepository;
 import com.team.backend.repository.SolutionRepository;
 import com.team.backend.repository.UserRepository;
+import com.team.backend.vector.UserVectorIndexCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,8 +26,10 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final EmotionRecordRepository emotionRecordRepository;
+    private final RecordEmbeddingRepository recordEmbeddingRepository;
     private final SolutionRepository solutionRepository;
     private final SolutionLogRepository solutionLogRepository;
+    private final UserVectorIndexCache vectorIndexCache;
 
     /**
      * 사용자 ID로 사용자 정보 조회
@@ -55,7 +59,8 @@ public class UserService {
         // 1. 해당 유저의 모든 감정 기록 조회
         var records = emotionRecordRepository.findAllByUser(user);
 
-        // 2. 각 감정 기록에 연결된 SolutionLog, Solution 먼저 삭제 (참조 무결성 유지)
+        // 2. 각 감정 기록에 연결된 임베딩, SolutionLog, Solution 먼저 삭제 (참조 무결성 유지)
+        recordEmbeddingRepository.deleteAllByUserId(user.getId());
         for (var record : records) {
             solutionLogRepository.deleteAllByEmotionRecord(record);
             solutionRepository.deleteByEmotionRecord(record);
@@ -66,6 +71,7 @@ public class UserService {
 
         // 4. 유저 삭제
         userRepository.delete(user);
+        vectorIndexCache.evictAfterCommit(user.getId());
 
         log.info("User account deleted - UserId: {}", user.getId());
     }
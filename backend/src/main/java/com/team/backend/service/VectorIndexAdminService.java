@@ -0,0 +1,52 @@
+package com.team.backend.service;
+
+import com.team.backend.repository.RecordEmbeddingRepository;
+import com.team.backend.repository.RecordEmbeddingView;
+import com.team.backend.vector.UserVectorIndexCache;
+import com.team.backend.vector.VectorIndexEvaluator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 벡터 인덱스 운영 도구
+ * - 캐시 현황 조회
+ * - 특정 사용자 데이터로 근사 인덱스(hnsw / int8)의 recall / 지연 시간 / 메모리 측정
+ */
+@Service
+@RequiredArgsConstructor
+public class VectorIndexAdminService {
+
+    private final RecordEmbeddingRepository recordEmbeddingRepository;
+    private final EmbeddingService embeddingService;
+    private final UserVectorIndexCache vectorIndexCache;
+    private final VectorIndexEvaluator vectorIndexEvaluator;
+
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", vectorIndexCache.isEnabled());
+        stats.put("cachedUsers", vectorIndexCache.cachedUserCount());
+        stats.put("totalVectors", vectorIndexCache.totalVectorCount());
+        stats.put("totalMemoryBytes", vectorIndexCache.totalMemoryBytes());
+        stats.put("float32EquivalentBytes", vectorIndexCache.float32EquivalentBytes());
+        stats.put("embeddingCache", embeddingService.getCacheStats());
+        return stats;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> evaluateRecall(Long userId, String type, int k, int samples, int efSearch, int rerankCandidates) {
+        Map<Long, float[]> vectors = new LinkedHashMap<>();
+        try (Stream<RecordEmbeddingView> rows = recordEmbeddingRepository.streamByUserId(
+                userId, embeddingService.model(), EmbeddingService.TASK_DOCUMENT, embeddingService.dimension())) {
+            rows.forEach(row -> vectors.put(row.getId(), row.getEmbedding()));
+        }
+
+        Map<String, Object> report = vectorIndexEvaluator.compareWithExact(vectors, type, k, samples, efSearch, rerankCandidates);
+        report.put("userId", userId);
+        return report;
+    }
+}
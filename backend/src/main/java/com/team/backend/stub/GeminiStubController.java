@@ -0,0 +1,219 @@
+package com.team.backend.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.team.backend.resilience.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 오프라인 Gemini 대역 서버 (Spring Profile: gemini-stub)
+ * - 실제 API 키 / 네트워크 없이 GeminiService → DiaryService / SolutionService 전체 경로를 부하 테스트하기 위함
+ * - gemini.base-url을 이 컨트롤러(/gemini-stub/v1beta)로 지정하면 같은 프로세스 안에서 응답
+ * - :embedContent / :batchEmbedContents / :generateContent / :streamGenerateContent 지원
+ * - 임베딩은 텍스트 글자 bigram을 해싱한 결정적 벡터 (같은 텍스트 → 같은 벡터, 비슷한 텍스트 → 높은 유사도)
+ * - 작업별 지연(로그정규 분포: 중앙값 / p99), 오류율(500), 초당 처리 한도(초과 시 429) 설정 가능
+ * 응답 지연은 Mono.delay로 만들어 서블릿 스레드를 붙잡지 않음
+ */
+@Slf4j
+@Profile("gemini-stub")
+@RestController
+@RequestMapping("/gemini-stub/v1beta/models")
+public class GeminiStubController {
+
+    private static final int DEFAULT_DIMENSION = 3072;
+    private static final double Z_99 = 2.326; // 표준정규분포 99 백분위
+
+    private static final List<String> REPLIES = List.of(
+            "오늘 하루 정말 애쓰셨어요. 잠깐 창문을 열고 깊게 세 번 숨을 쉬어보세요.",
+            "그런 상황이면 누구라도 지칠 수 있어요. 따뜻한 차 한 잔과 함께 5분만 쉬어가요.",
+            "지금 느끼는 감정은 자연스러운 거예요. 떠오르는 생각을 메모장에 한 줄만 적어보세요.",
+            "좋은 순간을 잘 붙잡으셨네요. 오늘의 장면을 사진 한 장으로 남겨두는 건 어떨까요?"
+    );
+
+    @Value("${gemini-stub.latency.embed.median-ms:40}")
+    private double embedMedianMs;
+
+    @Value("${gemini-stub.latency.embed.p99-ms:200}")
+    private double embedP99Ms;
+
+    @Value("${gemini-stub.latency.generate.median-ms:1500}")
+    private double generateMedianMs;
+
+    @Value("${gemini-stub.latency.generate.p99-ms:6000}")
+    private double generateP99Ms;
+
+    // 스트리밍: 첫 조각까지는 generate 지연의 일부, 이후 조각 간격
+    @Value("${gemini-stub.stream.first-chunk-ratio:0.2}")
+    private double firstChunkRatio;
+
+    @Value("${gemini-stub.stream.chunk-interval-ms:50}")
+    private long chunkIntervalMs;
+
+    @Value("${gemini-stub.error-rate:0.0}")
+    private double errorRate;
+
+    // 0 이하면 제한 없음, 초과 요청은 429 RESOURCE_EXHAUSTED
+    @Value("${gemini-stub.rate-limit-per-second:0}")
+    private double rateLimitPerSecond;
+
+    private TokenBucket rateLimiter;
+
+    @PostConstruct
+    void init() {
+        if (rateLimitPerSecond > 0) {
+            rateLimiter = new TokenBucket(rateLimitPerSecond, Math.max(1, rateLimitPerSecond));
+        }
+        log.warn("Gemini stub enabled - Embed p50/p99: {}/{}ms, Generate p50/p99: {}/{}ms, ErrorRate: {}, RateLimit: {}/s",
+                embedMedianMs, embedP99Ms, generateMedianMs, generateP99Ms, errorRate, rateLimitPerSecond);
+    }
+
+    /**
+     * POST /models/{model}:{method} - Gemini와 같은 "모델명:메서드" 경로
+     */
+    @PostMapping("/{modelAndMethod}")
+    public Mono<ResponseEntity<Object>> call(@PathVariable String modelAndMethod, @RequestBody JsonNode body) {
+        String method = modelAndMethod.substring(modelAndMethod.indexOf(':') + 1);
+
+        ResponseEntity<Object> rejected = maybeReject();
+        if (rejected != null) return Mono.just(rejected);
+
+        return switch (method) {
+            case "embedContent" -> delayed(embedMedianMs, embedP99Ms,
+                    () -> Map.of("embedding", Map.of("values", embed(textOf(body.path("content")), body.path("outputDimensionality").asInt(0)))));
+            case "batchEmbedContents" -> delayed(embedMedianMs, embedP99Ms, () -> {
+                List<Map<String, Object>> embeddings = new ArrayList<>();
+                for (JsonNode request : body.path("requests")) {
+                    embeddings.add(Map.of("values", embed(textOf(request.path("content")), request.path("outputDimensionality").asInt(0))));
+                }
+                return Map.of("embeddings", embeddings);
+            });
+            case "generateContent" -> delayed(generateMedianMs, generateP99Ms, () -> candidate(reply(body)));
+            default -> Mono.just(error(HttpStatus.NOT_FOUND, "NOT_FOUND", "Unsupported method: " + method));
+        };
+    }
+
+    /**
+     * POST /models/{model}:streamGenerateContent?alt=sse - 답변을 몇 글자씩 나눠 SSE로 전송
+     */
+    @PostMapping(value = "/{modelAndMethod}", params = "alt=sse", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> stream(@PathVariable String modelAndMethod, @RequestBody JsonNode body) {
+        ResponseEntity<Object> rejected = maybeReject();
+        if (rejected != null) {
+            // 스트림은 상태 코드만 전달 (WebClient retrieve()에서 예외로 처리됨)
+            return ResponseEntity.status(rejected.getStatusCode()).body(Flux.empty());
+        }
+
+        String reply = reply(body);
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < reply.length(); i += 8) {
+            chunks.add(reply.substring(i, Math.min(reply.length(), i + 8)));
+        }
+
+        Duration firstChunk = Duration.ofMillis((long) (sampleLatencyMs(generateMedianMs, generateP99Ms) * firstChunkRatio));
+        Flux<ServerSentEvent<Object>> events = Flux.fromIterable(chunks)
+                .delayElements(Duration.ofMillis(chunkIntervalMs))
+                .delaySubscription(firstChunk)
+                .map(chunk -> ServerSentEvent.<Object>builder(candidate(chunk)).build());
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(events);
+    }
+
+    private ResponseEntity<Object> maybeReject() {
+        if (rateLimiter != null && !rateLimiter.tryAcquire()) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, "RESOURCE_EXHAUSTED", "Stub rate limit exceeded");
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL", "Injected stub error");
+        }
+        return null;
+    }
+
+    private Mono<ResponseEntity<Object>> delayed(double medianMs, double p99Ms, Supplier<Object> body) {
+        return Mono.delay(Duration.ofMillis(sampleLatencyMs(medianMs, p99Ms)))
+                .map(tick -> ResponseEntity.ok(body.get()));
+    }
+
+    /**
+     * 로그정규 분포 지연 (중앙값 = e^mu, p99 = e^(mu + 2.326 sigma))
+     */
+    private long sampleLatencyMs(double medianMs, double p99Ms) {
+        if (medianMs <= 0) return 0;
+        double sigma = p99Ms > medianMs ? Math.log(p99Ms / medianMs) / Z_99 : 0;
+        return Math.round(medianMs * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    /**
+     * 결정적 가짜 임베딩 (feature hashing: 글자 bigram마다 해시 위치에 ±1, 마지막에 단위 벡터로 정규화)
+     */
+    static float[] embed(String text, int outputDimensionality) {
+        int dimension = outputDimensionality > 0 ? outputDimensionality : DEFAULT_DIMENSION;
+        float[] vector = new float[dimension];
+
+        String normalized = text.replaceAll("\\s+", " ").trim();
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            int hash = mix(normalized.substring(i, i + 2).hashCode());
+            vector[Math.floorMod(hash, dimension)] += (hash & 0x8000_0000) == 0 ? 1f : -1f;
+        }
+
+        double sum = 0;
+        for (float v : vector) sum += (double) v * v;
+        if (sum == 0) {
+            vector[Math.floorMod(mix(normalized.hashCode()), dimension)] = 1f; // 빈 텍스트 / 한 글자
+            return vector;
+        }
+        float inverse = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < dimension; i++) vector[i] *= inverse;
+        return vector;
+    }
+
+    // String.hashCode의 하위 비트 편중을 줄이기 위한 섞기 (murmur3 finalizer)
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    // 같은 프롬프트에는 항상 같은 답변
+    private String reply(JsonNode body) {
+        String prompt = textOf(body.path("contents").path(0));
+        return REPLIES.get(Math.floorMod(mix(prompt.hashCode()), REPLIES.size()));
+    }
+
+    private static String textOf(JsonNode content) {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode part : content.path("parts")) {
+            text.append(part.path("text").asText(""));
+        }
+        return text.toString();
+    }
+
+    private static Map<String, Object> candidate(String text) {
+        return Map.of("candidates", List.of(Map.of(
+                "content", Map.of("role", "model", "parts", List.of(Map.of("text", text))),
+                "finishReason", "STOP"
+        )));
+    }
+
+    private static ResponseEntity<Object> error(HttpStatus status, String reason, String message) {
+        return ResponseEntity.status(status)
+                .body(Map.of("error", Map.of("code", status.value(), "message", message, "status", reason)));
+    }
+}
@@ -0,0 +1,22 @@
+package com.team.backend.vector;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * float[] 임베딩 <-> bytea 변환기
+ * 포맷은 VectorCodec 참고
+ */
+@Converter
+public class EmbeddingConverter implements AttributeConverter<float[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(float[] attribute) {
+        return VectorCodec.encode(attribute);
+    }
+
+    @Override
+    public float[] convertToEntityAttribute(byte[] dbData) {
+        return VectorCodec.decode(dbData);
+    }
+}
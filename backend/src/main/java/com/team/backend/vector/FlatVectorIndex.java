@@ -0,0 +1,137 @@
+package com.team.backend.vector;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 한 사용자의 임베딩을 연속된 float[] 행렬로 보관하는 인덱스 (전수 비교)
+ * - matrix[slot * dimension ...] 에 단위 벡터, ids[slot] 에 레코드 ID
+ * - 저장/쿼리 벡터 모두 정규화되어 있다고 보고 점수는 내적만 계산
+ * - 삭제 시 마지막 슬롯을 빈 자리로 옮겨 행렬을 항상 빈틈없이 유지
+ * - 검색은 read lock, 변경은 write lock
+ */
+public class FlatVectorIndex implements VectorIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int dimension;
+    private final SimilarityKernel kernel;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    private float[] matrix;
+    private long[] ids;
+    private int size;
+
+    public FlatVectorIndex(int dimension, SimilarityKernel kernel) {
+        this(dimension, kernel, INITIAL_CAPACITY);
+    }
+
+    public FlatVectorIndex(int dimension, SimilarityKernel kernel, int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.dimension = dimension;
+        this.kernel = kernel;
+        this.matrix = new float[capacity * dimension];
+        this.ids = new long[capacity];
+    }
+
+    @Override
+    public String type() {
+        return "flat";
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean upsert(long id, float[] vector) {
+        if (vector == null || vector.length != dimension) return false;
+
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            if (slot == null) {
+                ensureCapacity(size + 1);
+                slot = size++;
+                ids[slot] = id;
+                slotById.put(id, slot);
+            }
+            System.arraycopy(vector, 0, matrix, slot * dimension, dimension);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot == null) return false;
+
+            int last = --size;
+            if (slot != last) {
+                System.arraycopy(matrix, last * dimension, matrix, slot * dimension, dimension);
+                ids[slot] = ids[last];
+                slotById.put(ids[slot], slot);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ScoredId> search(float[] query, int k, long excludeId) {
+        if (query == null || query.length != dimension) return List.of();
+
+        TopK topK = new TopK(k);
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < size; slot++) {
+                if (ids[slot] == excludeId) continue;
+                topK.offer(ids[slot], kernel.dot(query, matrix, slot * dimension));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topK.result();
+    }
+
+    @Override
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) matrix.length * Float.BYTES
+                    + (long) ids.length * Long.BYTES
+                    + (long) slotById.size() * 64L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) return;
+
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        matrix = Arrays.copyOf(matrix, capacity * dimension);
+        ids = Arrays.copyOf(ids, capacity);
+    }
+}
@@ -0,0 +1,407 @@
+package com.team.backend.vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * HNSW(Hierarchical Navigable Small World) 근사 최근접 이웃 인덱스 (사용자 1명 단위)
+ * - m              : 노드당 이웃 수 (0층은 2m)
+ * - efConstruction : 삽입 시 탐색 폭 (클수록 그래프 품질↑, 삽입 비용↑)
+ * - efSearch       : 검색 시 탐색 폭 (클수록 recall↑, 지연↑)
+ * - 삭제는 tombstone 처리 후 검색 결과에서 제외하고, 삭제 비율이 높아지면 그래프를 재구성
+ * - 벡터는 연속된 float[] 행렬에 보관하고 점수는 내적(단위 벡터)으로 계산
+ */
+public class HnswVectorIndex implements VectorIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double REBUILD_DELETED_RATIO = 0.5;
+
+    private static final Comparator<ScoredNode> BY_SCORE_ASC = Comparator.comparingDouble(ScoredNode::score);
+    private static final Comparator<ScoredNode> BY_SCORE_DESC = BY_SCORE_ASC.reversed();
+
+    private final int dimension;
+    private final SimilarityKernel kernel;
+    private final int m;
+    private final int maxLinksLevel0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> nodeById = new HashMap<>();
+
+    private float[] vectors;
+    private long[] ids;
+    private int[][][] links;      // [node][level] -> 이웃 노드 번호
+    private int[][] linkCounts;   // [node][level] -> 이웃 수
+    private final BitSet deleted = new BitSet();
+
+    private int nodeCount;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswVectorIndex(int dimension, SimilarityKernel kernel, int m, int efConstruction, int efSearch) {
+        if (m < 2) throw new IllegalArgumentException("HNSW m은 2 이상이어야 합니다.");
+        this.dimension = dimension;
+        this.kernel = kernel;
+        this.m = m;
+        this.maxLinksLevel0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public String type() {
+        return "hnsw";
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean upsert(long id, float[] vector) {
+        if (vector == null || vector.length != dimension) return false;
+
+        lock.writeLock().lock();
+        try {
+            // 그래프에서 벡터를 바꾸면 이웃 관계가 틀어지므로 기존 노드는 지우고 새로 삽입
+            Integer existing = nodeById.remove(id);
+            if (existing != null) markDeleted(existing);
+
+            insert(id, vector);
+            rebuildIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeById.remove(id);
+            if (node == null) return false;
+
+            markDeleted(node);
+            rebuildIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ScoredId> search(float[] query, int k, long excludeId) {
+        if (query == null || query.length != dimension || k <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) return List.of();
+
+            int current = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                current = greedyClosest(query, current, level);
+            }
+
+            // 삭제/제외 노드를 걸러낼 여유분 포함
+            int ef = Math.max(efSearch, k + 1);
+            PriorityQueue<ScoredNode> found = searchLayer(query, current, ef, 0);
+
+            TopK topK = new TopK(k);
+            for (ScoredNode candidate : found) {
+                if (deleted.get(candidate.node) || ids[candidate.node] == excludeId) continue;
+                topK.offer(ids[candidate.node], candidate.score);
+            }
+            return topK.result();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long linkBytes = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                for (int[] levelLinks : links[node]) {
+                    linkBytes += 16L + (long) levelLinks.length * Integer.BYTES;
+                }
+            }
+            return (long) vectors.length * Float.BYTES
+                    + (long) ids.length * Long.BYTES
+                    + linkBytes
+                    + (long) nodeById.size() * 64L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==========================================
+    // [Graph Construction]
+    // ==========================================
+
+    private void insert(long id, float[] vector) {
+        ensureCapacity(nodeCount + 1);
+
+        int node = nodeCount++;
+        int level = randomLevel();
+        ids[node] = id;
+        System.arraycopy(vector, 0, vectors, node * dimension, dimension);
+        links[node] = new int[level + 1][];
+        linkCounts[node] = new int[level + 1];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[maxLinks(l) + 1]; // 가지치기 전 임시로 1칸 여유
+        }
+        nodeById.put(id, node);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            PriorityQueue<ScoredNode> candidates = searchLayer(vector, current, efConstruction, l);
+            List<ScoredNode> neighbors = selectNeighbors(candidates, m);
+
+            for (ScoredNode neighbor : neighbors) {
+                addLink(node, neighbor.node, l);
+                addLink(neighbor.node, node, l);
+            }
+
+            // 다음 층의 시작점은 이번 층에서 가장 가까운 노드
+            current = candidates.stream().max(BY_SCORE_ASC).map(ScoredNode::node).orElse(current);
+        }
+
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+    }
+
+    private void addLink(int from, int to, int level) {
+        int count = linkCounts[from][level];
+        int[] fromLinks = links[from][level];
+        fromLinks[count++] = to;
+        linkCounts[from][level] = count;
+
+        int limit = maxLinks(level);
+        if (count <= limit) return;
+
+        // 이웃이 넘치면 휴리스틱으로 다시 골라 limit개만 유지
+        PriorityQueue<ScoredNode> candidates = new PriorityQueue<>(BY_SCORE_ASC);
+        for (int i = 0; i < count; i++) {
+            int neighbor = fromLinks[i];
+            candidates.add(new ScoredNode(neighbor, nodeScore(from, neighbor)));
+        }
+
+        List<ScoredNode> kept = selectNeighbors(candidates, limit);
+        for (int i = 0; i < kept.size(); i++) {
+            fromLinks[i] = kept.get(i).node;
+        }
+        linkCounts[from][level] = kept.size();
+    }
+
+    /**
+     * HNSW 논문의 이웃 선택 휴리스틱
+     * 이미 고른 이웃보다 기준 노드에 더 가까운 후보만 채택해 여러 방향으로 연결을 분산시키고,
+     * 자리가 남으면 탈락한 후보로 채운다.
+     */
+    private List<ScoredNode> selectNeighbors(PriorityQueue<ScoredNode> candidates, int limit) {
+        List<ScoredNode> sorted = new ArrayList<>(candidates);
+        sorted.sort(BY_SCORE_DESC);
+
+        List<ScoredNode> selected = new ArrayList<>(limit);
+        List<ScoredNode> pruned = new ArrayList<>();
+        for (ScoredNode candidate : sorted) {
+            if (selected.size() >= limit) break;
+
+            boolean diverse = true;
+            for (ScoredNode chosen : selected) {
+                if (nodeScore(candidate.node, chosen.node) > candidate.score) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                pruned.add(candidate);
+            }
+        }
+
+        for (int i = 0; i < pruned.size() && selected.size() < limit; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected;
+    }
+
+    // ==========================================
+    // [Graph Search]
+    // ==========================================
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float currentScore = score(query, current);
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] currentLinks = links[current][level];
+            int count = linkCounts[current][level];
+            for (int i = 0; i < count; i++) {
+                int neighbor = currentLinks[i];
+                float neighborScore = score(query, neighbor);
+                if (neighborScore > currentScore) {
+                    current = neighbor;
+                    currentScore = neighborScore;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 한 층에서 ef개의 가장 가까운 노드 탐색 (반환 큐는 점수 오름차순 min-heap)
+     */
+    private PriorityQueue<ScoredNode> searchLayer(float[] query, int start, int ef, int level) {
+        BitSet visited = new BitSet(nodeCount);
+        PriorityQueue<ScoredNode> candidates = new PriorityQueue<>(BY_SCORE_DESC);
+        PriorityQueue<ScoredNode> results = new PriorityQueue<>(BY_SCORE_ASC);
+
+        ScoredNode first = new ScoredNode(start, score(query, start));
+        visited.set(start);
+        candidates.add(first);
+        results.add(first);
+
+        while (!candidates.isEmpty()) {
+            ScoredNode closest = candidates.poll();
+            if (results.size() >= ef && closest.score < results.peek().score) break;
+
+            int[] closestLinks = links[closest.node][level];
+            int count = linkCounts[closest.node][level];
+            for (int i = 0; i < count; i++) {
+                int neighbor = closestLinks[i];
+                if (visited.get(neighbor)) continue;
+                visited.set(neighbor);
+
+                float neighborScore = score(query, neighbor);
+                if (results.size() < ef || neighborScore > results.peek().score) {
+                    ScoredNode scored = new ScoredNode(neighbor, neighborScore);
+                    candidates.add(scored);
+                    results.add(scored);
+                    if (results.size() > ef) results.poll();
+                }
+            }
+        }
+        return results;
+    }
+
+    // ==========================================
+    // [Maintenance]
+    // ==========================================
+
+    private void markDeleted(int node) {
+        if (!deleted.get(node)) {
+            deleted.set(node);
+            deletedCount++;
+        }
+    }
+
+    /**
+     * tombstone이 절반을 넘으면 살아있는 노드만으로 그래프 재구성
+     */
+    private void rebuildIfNeeded() {
+        if (nodeCount < INITIAL_CAPACITY || deletedCount < nodeCount * REBUILD_DELETED_RATIO) return;
+
+        float[] oldVectors = vectors;
+        long[] oldIds = ids;
+        int oldCount = nodeCount;
+        BitSet oldDeleted = (BitSet) deleted.clone();
+
+        allocate(Math.max(INITIAL_CAPACITY, oldCount - deletedCount));
+        nodeById.clear();
+        deleted.clear();
+        nodeCount = 0;
+        deletedCount = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+
+        float[] buffer = new float[dimension];
+        for (int node = 0; node < oldCount; node++) {
+            if (oldDeleted.get(node)) continue;
+            System.arraycopy(oldVectors, node * dimension, buffer, 0, dimension);
+            insert(oldIds[node], buffer);
+        }
+    }
+
+    private void allocate(int capacity) {
+        vectors = new float[capacity * dimension];
+        ids = new long[capacity];
+        links = new int[capacity][][];
+        linkCounts = new int[capacity][];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) return;
+
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        vectors = Arrays.copyOf(vectors, capacity * dimension);
+        ids = Arrays.copyOf(ids, capacity);
+        links = Arrays.copyOf(links, capacity);
+        linkCounts = Arrays.copyOf(linkCounts, capacity);
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble(); // (0, 1]
+        return (int) Math.floor(-Math.log(uniform) * levelMultiplier);
+    }
+
+    private int maxLinks(int level) {
+        return level == 0 ? maxLinksLevel0 : m;
+    }
+
+    private float score(float[] query, int node) {
+        return kernel.dot(query, vectors, node * dimension);
+    }
+
+    private float nodeScore(int a, int b) {
+        return kernel.dot(vectors, a * dimension, vectors, b * dimension, dimension);
+    }
+
+    private record ScoredNode(int node, float score) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.team.backend.vector;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * int8 스칼라 양자화 인덱스 (전수 비교, 근사 점수)
+ * - 벡터마다 최소값(offset)과 간격(scale)을 두고 각 값을 1바이트 코드로 저장
+ *   v ≈ offset + scale * (code + 128)
+ * - float32 대비 약 1/4 메모리, 점수는 근사치이므로 상위 후보를 원본 벡터로 다시 정렬(re-rank)해서 사용
+ */
+public class QuantizedVectorIndex implements VectorIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int LEVELS = 255;
+
+    private final int dimension;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    private byte[] codes;
+    private float[] offsets;
+    private float[] scales;
+    private long[] ids;
+    private int size;
+
+    public QuantizedVectorIndex(int dimension) {
+        this.dimension = dimension;
+        this.codes = new byte[INITIAL_CAPACITY * dimension];
+        this.offsets = new float[INITIAL_CAPACITY];
+        this.scales = new float[INITIAL_CAPACITY];
+        this.ids = new long[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public String type() {
+        return "int8";
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public boolean exactScores() {
+        return false;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean upsert(long id, float[] vector) {
+        if (vector == null || vector.length != dimension) return false;
+
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            if (slot == null) {
+                ensureCapacity(size + 1);
+                slot = size++;
+                ids[slot] = id;
+                slotById.put(id, slot);
+            }
+            quantize(vector, slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot == null) return false;
+
+            int last = --size;
+            if (slot != last) {
+                System.arraycopy(codes, last * dimension, codes, slot * dimension, dimension);
+                offsets[slot] = offsets[last];
+                scales[slot] = scales[last];
+                ids[slot] = ids[last];
+                slotById.put(ids[slot], slot);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * q · v ≈ offset * Σq + scale * (Σ q_i * code_i + 128 * Σq)
+     * Σq는 쿼리당 한 번만 계산
+     */
+    @Override
+    public List<ScoredId> search(float[] query, int k, long excludeId) {
+        if (query == null || query.length != dimension) return List.of();
+
+        float querySum = 0f;
+        for (float v : query) {
+            querySum += v;
+        }
+
+        TopK topK = new TopK(k);
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < size; slot++) {
+                if (ids[slot] == excludeId) continue;
+
+                int base = slot * dimension;
+                float acc = 0f;
+                for (int i = 0; i < dimension; i++) {
+                    acc += query[i] * codes[base + i];
+                }
+                topK.offer(ids[slot], offsets[slot] * querySum + scales[slot] * (acc + 128f * querySum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topK.result();
+    }
+
+    @Override
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) codes.length
+                    + (long) offsets.length * Float.BYTES
+                    + (long) scales.length * Float.BYTES
+                    + (long) ids.length * Long.BYTES
+                    + (long) slotById.size() * 64L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void quantize(float[] vector, int slot) {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        for (float v : vector) {
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+
+        float scale = (max - min) / LEVELS;
+        float inverse = scale == 0f ? 0f : 1f / scale;
+        int base = slot * dimension;
+        for (int i = 0; i < dimension; i++) {
+            int level = Math.round((vector[i] - min) * inverse); // 0 ~ 255
+            codes[base + i] = (byte) (level - 128);
+        }
+        offsets[slot] = min;
+        scales[slot] = scale;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) return;
+
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        codes = Arrays.copyOf(codes, capacity * dimension);
+        offsets = Arrays.copyOf(offsets, capacity);
+        scales = Arrays.copyOf(scales, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+    }
+}
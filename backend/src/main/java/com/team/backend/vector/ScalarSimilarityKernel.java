@@ -0,0 +1,31 @@
+package com.team.backend.vector;
+
+/**
+ * 스칼라 구현 (Vector API를 쓸 수 없을 때의 기본값)
+ * 누산기 4개로 언롤링해 의존성 체인을 끊고 JIT 자동 벡터화 여지를 남긴다.
+ */
+public class ScalarSimilarityKernel implements SimilarityKernel {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        int upper = length & ~3;
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+
+        int i = 0;
+        for (; i < upper; i += 4) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+}
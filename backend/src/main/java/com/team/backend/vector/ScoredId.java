@@ -0,0 +1,7 @@
+package com.team.backend.vector;
+
+/**
+ * 유사도 검색 결과 한 건 (레코드 ID + 점수)
+ */
+public record ScoredId(long id, float score) {
+}
@@ -0,0 +1,46 @@
+package com.team.backend.vector;
+
+/**
+ * 유사도 계산 커널 (RAG 검색의 가장 안쪽 루프)
+ * - ScalarSimilarityKernel : 언롤링된 스칼라 루프
+ * - VectorApiSimilarityKernel : jdk.incubator.vector SIMD
+ * 구현 선택은 vector.kernel 설정 (SimilarityKernels.create 참고)
+ */
+public interface SimilarityKernel {
+
+    String name();
+
+    /**
+     * a[aOffset .. aOffset + length) · b[bOffset .. bOffset + length)
+     * 연속된 행렬에 저장된 벡터끼리 복사 없이 비교할 때 사용
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * a · b (두 배열 길이는 같아야 함)
+     */
+    default float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * query · matrix[offset .. offset + query.length)
+     */
+    default float dot(float[] query, float[] matrix, int offset) {
+        return dot(query, 0, matrix, offset, query.length);
+    }
+
+    default float norm(float[] vector) {
+        return (float) Math.sqrt(dot(vector, vector));
+    }
+
+    /**
+     * 코사인 유사도 (차원이 다르거나 영벡터면 0)
+     */
+    default float cosine(float[] a, float[] b) {
+        if (a == null || b == null || a.length != b.length) return 0f;
+        float normA = norm(a);
+        float normB = norm(b);
+        return (normA == 0f || normB == 0f) ? 0f : dot(a, b) / (normA * normB);
+    }
+}
@@ -0,0 +1,52 @@
+package com.team.backend.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 설정값(vector.kernel)에 따라 유사도 커널 생성
+ * - auto   : Vector API 모듈이 있으면 simd, 없으면 scalar
+ * - simd   : Vector API 강제 (사용 불가하면 경고 후 scalar)
+ * - scalar : 항상 scalar
+ */
+@Slf4j
+public final class SimilarityKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    // 별도 소스셋(src/vectorApi/java)에서 컴파일되므로 이름으로 로딩
+    private static final String VECTOR_KERNEL_CLASS = "com.team.backend.vector.VectorApiSimilarityKernel";
+
+    private SimilarityKernels() {
+    }
+
+    public static SimilarityKernel create(String mode) {
+        String normalized = mode == null ? "auto" : mode.trim().toLowerCase();
+
+        switch (normalized) {
+            case "scalar":
+                return new ScalarSimilarityKernel();
+            case "simd":
+            case "auto": {
+                SimilarityKernel simd = tryCreateVectorApiKernel();
+                if (simd != null) return simd;
+                if ("simd".equals(normalized)) {
+                    log.warn("Vector API ({}) is not available. Falling back to scalar kernel.", VECTOR_MODULE);
+                }
+                return new ScalarSimilarityKernel();
+            }
+            default:
+                throw new IllegalArgumentException("알 수 없는 vector.kernel 값입니다: " + mode);
+        }
+    }
+
+    private static SimilarityKernel tryCreateVectorApiKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (SimilarityKernel) Class.forName(VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API kernel initialization failed: {}", e.toString());
+            return null;
+        }
+    }
+}
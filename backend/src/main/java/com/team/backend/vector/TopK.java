@@ -0,0 +1,47 @@
+package com.team.backend.vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 크기 K로 제한된 min-heap
+ * 후보 전체를 정렬하지 않고 점수 상위 K개만 유지한다. (O(n log K))
+ */
+public class TopK {
+
+    private final int k;
+    private final PriorityQueue<ScoredId> heap;
+
+    public TopK(int k) {
+        this.k = k;
+        this.heap = new PriorityQueue<>(Math.max(1, k), Comparator.comparingDouble(ScoredId::score));
+    }
+
+    public void offer(long id, float score) {
+        if (k <= 0) return;
+        if (heap.size() < k) {
+            heap.add(new ScoredId(id, score));
+        } else if (score > heap.peek().score()) {
+            heap.poll();
+            heap.add(new ScoredId(id, score));
+        }
+    }
+
+    /**
+     * 현재 K번째 점수 (heap이 덜 찼으면 -Infinity)
+     */
+    public float threshold() {
+        return heap.size() < k ? Float.NEGATIVE_INFINITY : heap.peek().score();
+    }
+
+    /**
+     * 점수 내림차순 결과
+     */
+    public List<ScoredId> result() {
+        List<ScoredId> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(ScoredId::score).reversed());
+        return result;
+    }
+}
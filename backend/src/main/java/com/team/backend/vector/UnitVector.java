@@ -0,0 +1,31 @@
+package com.team.backend.vector;
+
+/**
+ * 길이 1로 정규화된 임베딩 + 정규화 전 L2 norm
+ * 저장/검색 모두 단위 벡터를 쓰므로 유사도는 내적(dot)만으로 계산된다.
+ */
+public record UnitVector(float[] values, float norm) {
+
+    /**
+     * raw 배열을 그 자리에서 정규화 (영벡터면 그대로 두고 norm = 0)
+     */
+    public static UnitVector normalize(float[] raw) {
+        double sum = 0.0;
+        for (float v : raw) {
+            sum += (double) v * v;
+        }
+
+        float norm = (float) Math.sqrt(sum);
+        if (norm > 0f) {
+            float inverse = 1f / norm;
+            for (int i = 0; i < raw.length; i++) {
+                raw[i] *= inverse;
+            }
+        }
+        return new UnitVector(raw, norm);
+    }
+
+    public int dimension() {
+        return values.length;
+    }
+}
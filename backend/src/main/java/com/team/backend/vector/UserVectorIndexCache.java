@@ -0,0 +1,190 @@
+package com.team.backend.vector;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 사용자별 벡터 인덱스 메모리 캐시 (RAG 검색용)
+ * - 첫 검색 시 DB에서 한 번 읽어 VectorIndex(flat/hnsw)를 만들고 이후에는 메모리에서 검색
+ * - 일기 저장/수정/삭제, 회원 탈퇴 시 커밋 이후에 인덱스를 증분 갱신
+ * - 전체 메모리 예산(max-memory-mb)을 넘거나 idle-timeout 동안 사용되지 않으면 제거
+ * - 사용자별 변경 세대(generation): 로딩 시작 후 변경이 있었으면 로딩 결과를 캐시하지 않음
+ *   설치와 변경 반영은 모두 indexes.compute 안에서 처리해 둘 사이에 끼어드는 변경이 없도록 함
+ */
+@Slf4j
+@Component
+public class UserVectorIndexCache {
+
+    private final Map<Long, CachedIndex> indexes = new ConcurrentHashMap<>();
+    // 사용자별 변경 횟수 (회원 탈퇴 / 캐시된 인덱스가 없는 사용자는 정리, 로더는 값과 함께 객체 자체도 비교)
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Value("${vector-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${vector-index.max-memory-mb:256}")
+    private long maxMemoryMb;
+
+    @Value("${vector-index.idle-timeout:30m}")
+    private Duration idleTimeout;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시된 인덱스 반환, 없으면 loader로 생성 (loader가 null을 주면 캐시하지 않음)
+     */
+    public VectorIndex getOrLoad(Long userId, Supplier<VectorIndex> loader) {
+        CachedIndex cached = indexes.get(userId);
+        if (cached == null) {
+            AtomicLong counter = generation(userId);
+            long generation = counter.get();
+            VectorIndex loaded = loader.get();
+            if (loaded == null) return null;
+
+            cached = indexes.compute(userId, (id, current) -> {
+                if (current != null) return current; // 다른 로더가 먼저 설치
+                if (generations.get(id) != counter || counter.get() != generation) {
+                    return null; // 로딩 중 변경(또는 세대 정리) → 캐시하지 않음
+                }
+                return new CachedIndex(loaded);
+            });
+            if (cached == null) return loaded; // 이번 검색에만 사용
+
+            if (cached.index == loaded) {
+                log.debug("Vector index loaded - UserId: {}, Size: {}", userId, loaded.size());
+                enforceMemoryBudget();
+            }
+        }
+        cached.touch();
+        return cached.index;
+    }
+
+    /**
+     * 이미 로딩된 사용자만 갱신 (로딩 전이면 다음 첫 검색 때 DB에서 읽음)
+     */
+    public void upsertAfterCommit(Long userId, Long recordId, float[] vector) {
+        afterCommit(() -> {
+            apply(userId, cached -> {
+                // 차원이 바뀐 경우 등: 통째로 버리고 다음 검색 때 재생성
+                return cached.index.upsert(recordId, vector) ? cached : null;
+            });
+            enforceMemoryBudget(); // 추가로 커진 인덱스도 예산 안으로
+        });
+    }
+
+    public void removeAfterCommit(Long userId, Long recordId) {
+        afterCommit(() -> apply(userId, cached -> {
+            cached.index.remove(recordId);
+            return cached;
+        }));
+    }
+
+    public void evictAfterCommit(Long userId) {
+        afterCommit(() -> {
+            apply(userId, cached -> null);
+            generations.remove(userId); // 탈퇴한 사용자의 세대도 정리
+        });
+    }
+
+    public int cachedUserCount() {
+        return indexes.size();
+    }
+
+    public long totalMemoryBytes() {
+        return indexes.values().stream().mapToLong(cached -> cached.index.memoryBytes()).sum();
+    }
+
+    public long totalVectorCount() {
+        return indexes.values().stream().mapToLong(cached -> cached.index.size()).sum();
+    }
+
+    /**
+     * 캐시된 벡터를 모두 float32로 들고 있을 때의 크기 (양자화로 절약한 메모리 비교용)
+     */
+    public long float32EquivalentBytes() {
+        return indexes.values().stream()
+                .mapToLong(cached -> (long) cached.index.size() * cached.index.dimension() * Float.BYTES)
+                .sum();
+    }
+
+    /**
+     * 오래 사용되지 않은 인덱스 정리
+     */
+    @Scheduled(fixedDelayString = "${vector-index.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long deadline = System.nanoTime() - idleTimeout.toNanos();
+        indexes.entrySet().removeIf(entry -> entry.getValue().lastAccess < deadline);
+        // 캐시된 인덱스가 없는 사용자의 세대 정리 (그 사이 로딩 중이던 결과는 캐시하지 않고 한 번만 사용됨)
+        generations.keySet().removeIf(userId -> !indexes.containsKey(userId));
+    }
+
+    private void enforceMemoryBudget() {
+        long budget = maxMemoryMb * 1024 * 1024;
+        long total = totalMemoryBytes();
+        while (total > budget && indexes.size() > 1) {
+            // 가장 오래 전에 사용된 인덱스부터 제거
+            Map.Entry<Long, CachedIndex> oldest = indexes.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .orElse(null);
+            if (oldest == null || !indexes.remove(oldest.getKey(), oldest.getValue())) break;
+
+            total -= oldest.getValue().index.memoryBytes();
+            log.debug("Vector index evicted (memory budget) - UserId: {}", oldest.getKey());
+        }
+    }
+
+    /**
+     * 변경 반영: 세대를 올리고 캐시된 인덱스가 있으면 change 적용 (null을 돌려주면 캐시에서 제거)
+     * 설치(getOrLoad)와 같은 compute 안에서 처리하므로 로딩 결과 설치와 순서가 엇갈리지 않음
+     */
+    private void apply(Long userId, UnaryOperator<CachedIndex> change) {
+        indexes.compute(userId, (id, current) -> {
+            generation(id).incrementAndGet();
+            return current == null ? null : change.apply(current);
+        });
+    }
+
+    private AtomicLong generation(Long userId) {
+        return generations.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static class CachedIndex {
+        private final VectorIndex index;
+        private volatile long lastAccess = System.nanoTime();
+
+        private CachedIndex(VectorIndex index) {
+            this.index = index;
+        }
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+    }
+}
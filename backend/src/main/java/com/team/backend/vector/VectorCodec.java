@@ -0,0 +1,57 @@
+package com.team.backend.vector;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 임베딩 벡터 바이너리 포맷 (EMOTION_RECORDS.embedding, bytea)
+ * - [0]     : 포맷 버전 (현재 1)
+ * - [1..3]  : 예약 영역 (0)
+ * - [4..7]  : 차원 수 (int32, little-endian)
+ * - [8.. ]  : float32 값 (little-endian) * 차원 수
+ *
+ * JSON 텍스트 대비 약 1/4 크기이고, 파싱 없이 바로 float[]로 복원된다.
+ */
+public final class VectorCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+    public static final int HEADER_BYTES = 8;
+
+    private VectorCodec() {
+    }
+
+    public static byte[] encode(float[] vector) {
+        if (vector == null) return null;
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + vector.length * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(FORMAT_VERSION);
+        buffer.put((byte) 0).put((byte) 0).put((byte) 0);
+        buffer.putInt(vector.length);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    public static float[] decode(byte[] bytes) {
+        if (bytes == null) return null;
+        if (bytes.length < HEADER_BYTES) {
+            throw new IllegalArgumentException("임베딩 바이너리 헤더가 손상되었습니다. (length=" + bytes.length + ")");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        byte version = buffer.get(0);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 임베딩 포맷 버전입니다. (version=" + version + ")");
+        }
+
+        int dimension = buffer.getInt(4);
+        if (dimension < 0 || bytes.length != HEADER_BYTES + dimension * Float.BYTES) {
+            throw new IllegalArgumentException("임베딩 차원 정보가 데이터 길이와 맞지 않습니다. (dimension=" + dimension + ")");
+        }
+
+        float[] vector = new float[dimension];
+        buffer.position(HEADER_BYTES);
+        buffer.asFloatBuffer().get(vector);
+        return vector;
+    }
+}
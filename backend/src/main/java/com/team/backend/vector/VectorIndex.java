@@ -0,0 +1,44 @@
+package com.team.backend.vector;
+
+import java.util.List;
+
+/**
+ * 한 사용자의 임베딩 검색 인덱스
+ * - FlatVectorIndex : 전수 비교 (정확)
+ * - HnswVectorIndex : HNSW 그래프 (근사)
+ * - QuantizedVectorIndex : int8 양자화 (근사 점수, 원본 벡터로 re-rank 필요)
+ * 모든 벡터는 단위 벡터이고 점수는 내적이다.
+ */
+public interface VectorIndex {
+
+    String type();
+
+    int dimension();
+
+    int size();
+
+    /**
+     * 검색 점수가 원본 벡터의 내적과 같은지 여부
+     * false면 호출자가 상위 후보를 원본 벡터로 다시 정렬해야 한다.
+     */
+    default boolean exactScores() {
+        return true;
+    }
+
+    /**
+     * 추가 또는 교체 (차원이 다르면 false)
+     */
+    boolean upsert(long id, float[] vector);
+
+    boolean remove(long id);
+
+    /**
+     * 점수 상위 k개 (excludeId는 결과에서 제외)
+     */
+    List<ScoredId> search(float[] query, int k, long excludeId);
+
+    /**
+     * 대략적인 힙 사용량
+     */
+    long memoryBytes();
+}
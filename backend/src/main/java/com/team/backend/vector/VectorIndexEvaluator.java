@@ -0,0 +1,111 @@
+package com.team.backend.vector;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 근사 인덱스(hnsw / int8)와 전수 비교(정답)의 recall@k / 지연 시간 / 메모리 비교 도구
+ * 사용자의 실제 임베딩을 두 인덱스에 넣고, 그중 일부를 쿼리로 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class VectorIndexEvaluator {
+
+    private final VectorIndexFactory vectorIndexFactory;
+    private final SimilarityKernel similarityKernel;
+
+    /**
+     * @param type             hnsw | int8
+     * @param efSearch         hnsw 검색 폭
+     * @param rerankCandidates int8 1차 검색 후보 수 (원본 벡터로 재정렬 후 k개 반환)
+     */
+    public Map<String, Object> compareWithExact(Map<Long, float[]> vectors, String type,
+                                                int k, int samples, int efSearch, int rerankCandidates) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("type", type);
+        report.put("vectors", vectors.size());
+        if (vectors.isEmpty()) return report;
+
+        int dimension = vectors.values().iterator().next().length;
+        VectorIndex exact = vectorIndexFactory.createExact(dimension);
+        VectorIndex candidate = "int8".equalsIgnoreCase(type)
+                ? vectorIndexFactory.createQuantized(dimension)
+                : vectorIndexFactory.createHnsw(dimension, efSearch);
+
+        long buildStart = System.nanoTime();
+        vectors.forEach(candidate::upsert);
+        long buildNanos = System.nanoTime() - buildStart;
+        vectors.forEach(exact::upsert);
+
+        List<Long> ids = new ArrayList<>(vectors.keySet());
+        Random random = new Random(7);
+        int queries = Math.min(samples, ids.size());
+
+        long exactNanos = 0;
+        long candidateNanos = 0;
+        int hits = 0;
+        int expected = 0;
+        for (int q = 0; q < queries; q++) {
+            long queryId = ids.get(random.nextInt(ids.size()));
+            float[] query = vectors.get(queryId);
+
+            long start = System.nanoTime();
+            List<ScoredId> truth = exact.search(query, k, queryId);
+            exactNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<ScoredId> approximate = candidate.exactScores()
+                    ? candidate.search(query, k, queryId)
+                    : rerank(candidate.search(query, Math.max(k, rerankCandidates), queryId), query, vectors, k);
+            candidateNanos += System.nanoTime() - start;
+
+            Set<Long> truthIds = new HashSet<>();
+            truth.forEach(scored -> truthIds.add(scored.id()));
+            for (ScoredId scored : approximate) {
+                if (truthIds.contains(scored.id())) hits++;
+            }
+            expected += truth.size();
+        }
+
+        long exactMemory = exact.memoryBytes();
+        long candidateMemory = candidate.memoryBytes();
+
+        report.put("dimension", dimension);
+        report.put("k", k);
+        report.put("queries", queries);
+        if (candidate.exactScores()) {
+            report.put("efSearch", efSearch);
+        } else {
+            report.put("rerankCandidates", rerankCandidates);
+        }
+        report.put("recall", expected == 0 ? 1.0 : (double) hits / expected);
+        report.put("exactAvgMicros", queries == 0 ? 0 : exactNanos / queries / 1000);
+        report.put("candidateAvgMicros", queries == 0 ? 0 : candidateNanos / queries / 1000);
+        report.put("candidateBuildMillis", buildNanos / 1_000_000);
+        report.put("exactMemoryBytes", exactMemory);
+        report.put("candidateMemoryBytes", candidateMemory);
+        report.put("memorySavedBytes", exactMemory - candidateMemory);
+        return report;
+    }
+
+    /**
+     * 근사 점수로 뽑은 후보를 원본 벡터의 내적으로 다시 정렬해 상위 k개 반환
+     */
+    public List<ScoredId> rerank(List<ScoredId> candidates, float[] query, Map<Long, float[]> exactVectors, int k) {
+        TopK topK = new TopK(k);
+        for (ScoredId candidate : candidates) {
+            float[] vector = exactVectors.get(candidate.id());
+            if (vector == null || vector.length != query.length) continue;
+            topK.offer(candidate.id(), similarityKernel.dot(query, vector));
+        }
+        return topK.result();
+    }
+}
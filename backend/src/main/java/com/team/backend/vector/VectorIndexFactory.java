@@ -0,0 +1,52 @@
+package com.team.backend.vector;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 설정(vector-index.type)에 따라 사용자별 인덱스 생성
+ * - flat : 전수 비교 (기본값)
+ * - hnsw : HNSW 근사 검색 (vector-index.hnsw.* 로 튜닝)
+ * - int8 : int8 양자화 전수 비교 (상위 rerank-candidates개를 원본 벡터로 재정렬)
+ */
+@Component
+@RequiredArgsConstructor
+public class VectorIndexFactory {
+
+    private final SimilarityKernel similarityKernel;
+
+    @Value("${vector-index.type:flat}")
+    private String type;
+
+    @Value("${vector-index.hnsw.m:16}")
+    private int hnswM;
+
+    @Value("${vector-index.hnsw.ef-construction:200}")
+    private int hnswEfConstruction;
+
+    @Value("${vector-index.hnsw.ef-search:64}")
+    private int hnswEfSearch;
+
+    public VectorIndex create(int dimension) {
+        if ("hnsw".equalsIgnoreCase(type)) {
+            return createHnsw(dimension, hnswEfSearch);
+        }
+        if ("int8".equalsIgnoreCase(type)) {
+            return createQuantized(dimension);
+        }
+        return createExact(dimension);
+    }
+
+    public VectorIndex createExact(int dimension) {
+        return new FlatVectorIndex(dimension, similarityKernel);
+    }
+
+    public QuantizedVectorIndex createQuantized(int dimension) {
+        return new QuantizedVectorIndex(dimension);
+    }
+
+    public HnswVectorIndex createHnsw(int dimension, int efSearch) {
+        return new HnswVectorIndex(dimension, similarityKernel, hnswM, hnswEfConstruction, efSearch);
+    }
+}
@@ -0,0 +1,4 @@
+-- 사용자별 기간 목록 조회 (V13에서 recorded_at 역순 인덱스로 교체)
+-- 운영 중인 테이블을 잠그지 않도록 CONCURRENTLY (Flyway는 이 스크립트를 트랜잭션 없이 실행)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_emotion_records_user_recorded_at
+    ON emotion_records (user_id, recorded_at);
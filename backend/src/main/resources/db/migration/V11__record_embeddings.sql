@@ -0,0 +1,14 @@
+-- 기록별 임베딩 (모델 / taskType별 한 행, 일기 조회 시 벡터를 읽지 않도록 EMOTION_RECORDS에서 분리)
+-- 기존 emotion_records의 임베딩 컬럼은 V12(Java)에서 옮긴 뒤 삭제
+CREATE TABLE IF NOT EXISTS record_embeddings (
+    embedding_id   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    record_id      bigint      NOT NULL,
+    model          varchar(64) NOT NULL,
+    task_type      varchar(32) NOT NULL,
+    dimension      integer     NOT NULL,
+    embedding      bytea       NOT NULL,
+    embedding_norm real,
+    updated_at     timestamp(6),
+    CONSTRAINT uk_record_embeddings_key UNIQUE (record_id, model, task_type),
+    CONSTRAINT fk_record_embeddings_record FOREIGN KEY (record_id) REFERENCES emotion_records (record_id)
+);
@@ -0,0 +1,28 @@
+-- 주요 조회 조건에 맞춘 인덱스
+-- 운영 중인 테이블을 잠그지 않도록 모두 CONCURRENTLY로 생성 / 삭제
+-- (Flyway는 CONCURRENTLY 문장만 있는 스크립트를 트랜잭션 없이 실행)
+-- 생성 도중 실패하면 INVALID 인덱스가 남으므로 해당 인덱스를 DROP 한 뒤 재기동
+
+-- 월간 / 최근 목록, 커서 페이지네이션: user_id 범위를 recorded_at 역순으로 바로 읽음 (record_id는 동률 정렬용)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_emotion_records_user_recorded_at_desc
+    ON emotion_records (user_id, recorded_at DESC, record_id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS idx_emotion_records_user_recorded_at;
+
+-- AuthService.loginOrRegister의 이메일 조회
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email ON users (email);
+
+-- 일기별 최신 로그 조회 / 일기 삭제 시 로그 삭제
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solution_logs_record_created
+    ON solution_logs (record_id, created_at DESC);
+
+-- 프롬프트용 평가된 로그 (eval_score > 0만 담는 부분 인덱스, 점수까지 포함해 테이블 접근은 content만)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solution_logs_rated
+    ON solution_logs (record_id, created_at DESC) INCLUDE (eval_score) WHERE eval_score > 0;
+DROP INDEX CONCURRENTLY IF EXISTS idx_solution_logs_record_score_created;
+
+-- 백필의 오래된 차원 확인 (예전 emotion_records.embedding IS NOT NULL 조건에 해당하는 문서 임베딩만)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_record_embeddings_document
+    ON record_embeddings (model, dimension) WHERE task_type = 'RETRIEVAL_DOCUMENT';
+
+-- 일기 삭제 / 재임베딩 시 아웃박스 정리
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_embedding_outbox_record ON embedding_outbox (record_id);
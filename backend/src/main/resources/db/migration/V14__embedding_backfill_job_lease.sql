@@ -0,0 +1,7 @@
+-- 백필 작업 임대: 여러 인스턴스 중 lease_owner 한 곳만 진행 (lease_until이 지나면 다른 인스턴스가 이어받음)
+ALTER TABLE embedding_backfill_jobs ADD COLUMN IF NOT EXISTS lease_owner varchar(64);
+ALTER TABLE embedding_backfill_jobs ADD COLUMN IF NOT EXISTS lease_until timestamp(6);
+
+-- 진행 중(RUNNING / PAUSED)인 작업은 하나만 (동시에 자동 시작한 인스턴스는 기존 작업을 이어받음)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_embedding_backfill_jobs_active
+    ON embedding_backfill_jobs ((status IN ('RUNNING', 'PAUSED'))) WHERE status IN ('RUNNING', 'PAUSED');
@@ -0,0 +1,48 @@
+-- 기준 스키마 (Flyway 도입 이전, ddl-auto: update로 운영하던 시점의 엔티티 매핑 그대로)
+-- 이미 운영 중인 DB에는 baseline-version 0으로 기록한 뒤 이 스크립트부터 실행되므로
+-- 이 파일과 이후 스크립트는 모두 IF NOT EXISTS로 작성해 ddl-auto가 이미 만든 테이블 / 컬럼은 건너뜀
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id       bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email         varchar(255) NOT NULL,
+    social_id     varchar(255) NOT NULL,
+    nickname      varchar(255),
+    age           integer,
+    gender        varchar(255),
+    refresh_token text,
+    created_at    timestamp(6),
+    CONSTRAINT uk_users_social_id UNIQUE (social_id)
+);
+
+-- embedding: JSON 문자열 (V2에서 float32 bytea로 변환, V12에서 RECORD_EMBEDDINGS로 이관 후 삭제)
+CREATE TABLE IF NOT EXISTS emotion_records (
+    record_id    bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      bigint       NOT NULL,
+    emotion_type varchar(255) NOT NULL,
+    level        integer      NOT NULL,
+    reason       text,
+    recorded_at  timestamp(6) NOT NULL,
+    created_at   timestamp(6),
+    embedding    text,
+    CONSTRAINT fk_emotion_records_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS solutions (
+    solution_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    record_id   bigint NOT NULL,
+    content     text   NOT NULL,
+    eval_score  integer,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    CONSTRAINT uk_solutions_record_id UNIQUE (record_id),
+    CONSTRAINT fk_solutions_record FOREIGN KEY (record_id) REFERENCES emotion_records (record_id)
+);
+
+CREATE TABLE IF NOT EXISTS solution_logs (
+    log_id     bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    record_id  bigint NOT NULL,
+    content    text   NOT NULL,
+    eval_score integer,
+    created_at timestamp(6),
+    CONSTRAINT fk_solution_logs_record FOREIGN KEY (record_id) REFERENCES emotion_records (record_id)
+);
@@ -0,0 +1,3 @@
+-- 단위 벡터로 저장하면서 정규화 전 L2 norm 보관
+-- 기존 행은 NULL로 두고 V12 이관 시 정규화
+ALTER TABLE emotion_records ADD COLUMN IF NOT EXISTS embedding_norm real;
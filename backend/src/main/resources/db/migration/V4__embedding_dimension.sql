@@ -0,0 +1,3 @@
+-- 임베딩 차원 (설정 차원이 바뀌면 다른 차원의 임베딩은 검색에서 제외하고 백필로 재생성)
+-- 기존 행은 NULL로 두고 V12 이관 시 VectorCodec 헤더의 차원으로 채움
+ALTER TABLE emotion_records ADD COLUMN IF NOT EXISTS embedding_dim integer;
@@ -0,0 +1,15 @@
+-- 일기별 쿼리 임베딩 (내용이 바뀌지 않았으면 솔루션 재생성 시 재사용)
+ALTER TABLE emotion_records ADD COLUMN IF NOT EXISTS query_embedding bytea;
+
+-- 내용 해시 기준 임베딩 캐시 (같은 모델 / taskType / 차원 / 내용이면 Gemini를 다시 호출하지 않음)
+CREATE TABLE IF NOT EXISTS embedding_cache (
+    cache_id       bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    model          varchar(64) NOT NULL,
+    task_type      varchar(32) NOT NULL,
+    dimension      integer     NOT NULL,
+    content_hash   varchar(64) NOT NULL,
+    embedding      bytea       NOT NULL,
+    embedding_norm real        NOT NULL,
+    created_at     timestamp(6),
+    CONSTRAINT uk_embedding_cache_key UNIQUE (model, task_type, dimension, content_hash)
+);
@@ -0,0 +1,12 @@
+-- 일기 저장과 같은 트랜잭션에 쌓고 워커가 비동기로 임베딩하는 아웃박스
+CREATE TABLE IF NOT EXISTS embedding_outbox (
+    outbox_id       bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    record_id       bigint       NOT NULL,
+    attempts        integer      NOT NULL,
+    next_attempt_at timestamp(6) NOT NULL,
+    last_error      varchar(500),
+    created_at      timestamp(6)
+);
+
+-- 워커의 처리 대상 조회 (next_attempt_at <= now())
+CREATE INDEX IF NOT EXISTS idx_embedding_outbox_next_attempt ON embedding_outbox (next_attempt_at);
@@ -0,0 +1,18 @@
+-- 임베딩 일괄 재생성(백필) 작업 상태 + 체크포인트
+CREATE TABLE IF NOT EXISTS embedding_backfill_jobs (
+    job_id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    status           varchar(16) NOT NULL,
+    force            boolean     NOT NULL,
+    target_model     varchar(64) NOT NULL,
+    target_dimension integer     NOT NULL,
+    last_record_id   bigint      NOT NULL,
+    total_records    bigint      NOT NULL,
+    processed        bigint      NOT NULL,
+    skipped          bigint      NOT NULL,
+    failed           bigint      NOT NULL,
+    last_error       varchar(500),
+    started_at       timestamp(6),
+    updated_at       timestamp(6),
+    finished_at      timestamp(6),
+    CONSTRAINT ck_embedding_backfill_jobs_status CHECK (status IN ('RUNNING', 'PAUSED', 'COMPLETED', 'FAILED'))
+);
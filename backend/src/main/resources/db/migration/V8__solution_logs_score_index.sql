@@ -0,0 +1,4 @@
+-- 프롬프트용 평가 이력을 한 번에 조회 (V13에서 부분 인덱스로 교체)
+-- 운영 중인 테이블을 잠그지 않도록 CONCURRENTLY (Flyway는 이 스크립트를 트랜잭션 없이 실행)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_solution_logs_record_score_created
+    ON solution_logs (record_id, eval_score, created_at);
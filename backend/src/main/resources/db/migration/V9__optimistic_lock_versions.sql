@@ -0,0 +1,4 @@
+-- 낙관적 잠금 버전 (솔루션 생성을 짧은 트랜잭션으로 나누면서 생성 도중 일기 수정 / 동시 재생성 감지)
+-- 기존 행은 0으로 채움
+ALTER TABLE emotion_records ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE solutions ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
@@ -0,0 +1,69 @@
+package com.team.backend.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AimdLimiterTest {
+
+    private static final long THRESHOLD = 1_000_000L;
+
+    @Test
+    void rejectsBeyondCurrentLimit() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 8, THRESHOLD, 0.5);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.inFlight());
+
+        limiter.onIgnored();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void fastResponsesIncreaseAdditivelyUpToMax() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 4, THRESHOLD, 0.5);
+
+        // 응답마다 +1/한도 → 대략 한도만큼 빠른 응답이 와야 +1 (2 → 2.5 → 2.9 → 3.2)
+        succeedFast(limiter, 2);
+        assertEquals(2, limiter.limit());
+        succeedFast(limiter, 1);
+        assertEquals(3, limiter.limit());
+
+        succeedFast(limiter, 100);
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void slowOrDroppedCallsDecreaseMultiplicativelyDownToMin() {
+        AimdLimiter limiter = new AimdLimiter(8, 2, 8, THRESHOLD, 0.5);
+
+        limiter.tryAcquire();
+        limiter.onSuccess(THRESHOLD + 1); // 느린 응답
+        assertEquals(4, limiter.limit());
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertEquals(2, limiter.limit());
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertEquals(2, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void initialLimitIsClamped() {
+        assertEquals(3, new AimdLimiter(1, 3, 10, THRESHOLD, 0.5).limit());
+        assertEquals(10, new AimdLimiter(50, 3, 10, THRESHOLD, 0.5).limit());
+    }
+
+    private static void succeedFast(AimdLimiter limiter, int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(THRESHOLD / 2);
+        }
+    }
+}
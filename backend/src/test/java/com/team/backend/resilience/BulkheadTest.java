@@ -0,0 +1,23 @@
+package com.team.backend.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadTest {
+
+    @Test
+    void rejectsWithoutWaitingWhenFull() {
+        Bulkhead bulkhead = new Bulkhead(2);
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(2, bulkhead.inUse());
+
+        bulkhead.release();
+        assertEquals(1, bulkhead.inUse());
+        assertTrue(bulkhead.tryAcquire());
+    }
+}
@@ -0,0 +1,143 @@
+package com.team.backend.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.team.backend.resilience.CircuitBreaker.NOT_PERMITTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    // 최근 4회 중 50% 이상 실패하면 OPEN, 시험 호출 2회
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, OPEN_DURATION, 2, clock::get);
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        succeed();
+        succeed();
+        fail();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state()); // 최소 호출 수 미달
+        fail();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(NOT_PERMITTED, breaker.tryAcquirePermission());
+        assertEquals(10, breaker.remainingOpenSeconds());
+    }
+
+    @Test
+    void halfOpenProbesCloseTheBreaker() {
+        open();
+        advance(OPEN_DURATION);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        long first = breaker.tryAcquirePermission();
+        long second = breaker.tryAcquirePermission();
+        assertNotEquals(NOT_PERMITTED, first);
+        assertNotEquals(NOT_PERMITTED, second);
+        assertEquals(NOT_PERMITTED, breaker.tryAcquirePermission()); // 시험 호출 수 초과
+
+        breaker.onSuccess(first);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess(second);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void halfOpenFailureReopens() {
+        open();
+        advance(OPEN_DURATION);
+
+        long probe = breaker.tryAcquirePermission();
+        breaker.onFailure(probe);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(10, breaker.remainingOpenSeconds());
+    }
+
+    @Test
+    void ignoredProbeReturnsItsSlot() {
+        open();
+        advance(OPEN_DURATION);
+
+        long first = breaker.tryAcquirePermission();
+        breaker.tryAcquirePermission();
+        breaker.onIgnored(first);
+        assertNotEquals(NOT_PERMITTED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void lateFailureWhileOpenDoesNotExtendOutage() {
+        long inFlight = breaker.tryAcquirePermission();
+        open();
+        advance(Duration.ofSeconds(8));
+
+        // OPEN 전에 나간 느린 호출의 실패가 뒤늦게 도착
+        breaker.onFailure(inFlight);
+        assertEquals(2, breaker.remainingOpenSeconds());
+
+        advance(Duration.ofSeconds(2));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+    }
+
+    @Test
+    void lateResultsDoNotCountAsProbes() {
+        long staleSuccess = breaker.tryAcquirePermission();
+        long staleFailure = breaker.tryAcquirePermission();
+        open();
+        advance(OPEN_DURATION);
+
+        long probe = breaker.tryAcquirePermission();
+        breaker.onFailure(staleFailure);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess(staleSuccess);
+        breaker.onSuccess(probe);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state()); // 시험 호출 2회 중 1회만 성공
+    }
+
+    @Test
+    void slidingWindowForgetsOldFailures() {
+        fail();
+        for (int i = 0; i < 6; i++) {
+            succeed();
+        }
+        fail(); // 처음 실패는 창(최근 4회) 밖이므로 실패율 25%
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        fail(); // 최근 4회 중 2회 실패
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private void succeed() {
+        report(breaker, false);
+    }
+
+    private void fail() {
+        report(breaker, true);
+    }
+
+    private static void report(CircuitBreaker target, boolean failure) {
+        long permit = target.tryAcquirePermission();
+        if (failure) {
+            target.onFailure(permit);
+        } else {
+            target.onSuccess(permit);
+        }
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
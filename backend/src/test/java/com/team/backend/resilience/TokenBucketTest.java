@@ -0,0 +1,58 @@
+package com.team.backend.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong(5_000_000_000L);
+
+    @Test
+    void startsFullAndRefillsAtRate() {
+        TokenBucket bucket = new TokenBucket(2.0, 3, clock::get);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryAcquire());
+        }
+        assertFalse(bucket.tryAcquire());
+
+        advanceMillis(400); // 0.8개
+        assertFalse(bucket.tryAcquire());
+        advanceMillis(100); // 1.0개
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() {
+        TokenBucket bucket = new TokenBucket(10.0, 2, clock::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        advanceMillis(60_000);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void acquireReturnsImmediatelyWhenTokenAvailable() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1.0, 1, clock::get);
+        bucket.acquire();
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0.5));
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(millis * 1_000_000L);
+    }
+}
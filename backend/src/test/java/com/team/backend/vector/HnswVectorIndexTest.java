@@ -0,0 +1,109 @@
+package com.team.backend.vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.team.backend.vector.VectorTestSupport.ids;
+import static com.team.backend.vector.VectorTestSupport.randomUnitVectors;
+import static com.team.backend.vector.VectorTestSupport.recall;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HnswVectorIndexTest {
+
+    private static final int DIMENSION = 32;
+    private static final int COUNT = 1000;
+    private static final int QUERIES = 50;
+    private static final int K = 10;
+    private static final double RECALL_TARGET = 0.95;
+
+    private final SimilarityKernel kernel = new ScalarSimilarityKernel();
+
+    @Test
+    void recallAgainstFlatIndex() {
+        float[][] vectors = randomUnitVectors(1L, COUNT, DIMENSION);
+        FlatVectorIndex flat = new FlatVectorIndex(DIMENSION, kernel);
+        HnswVectorIndex hnsw = new HnswVectorIndex(DIMENSION, kernel, 16, 200, 64);
+        for (int i = 0; i < COUNT; i++) {
+            flat.upsert(i, vectors[i]);
+            hnsw.upsert(i, vectors[i]);
+        }
+
+        assertEquals(COUNT, hnsw.size());
+        assertTrue(averageRecall(flat, hnsw, 2L) >= RECALL_TARGET);
+    }
+
+    @Test
+    void searchSkipsExcludedId() {
+        float[][] vectors = randomUnitVectors(3L, 200, DIMENSION);
+        HnswVectorIndex hnsw = new HnswVectorIndex(DIMENSION, kernel, 8, 100, 64);
+        for (int i = 0; i < vectors.length; i++) {
+            hnsw.upsert(i, vectors[i]);
+        }
+
+        // 자기 자신이 가장 가까우므로 제외하지 않으면 항상 1위
+        assertEquals(7L, hnsw.search(vectors[7], 1, -1L).get(0).id());
+        assertFalse(ids(hnsw.search(vectors[7], K, 7L)).contains(7L));
+    }
+
+    @Test
+    void tombstonesAndRebuildKeepRecall() {
+        float[][] vectors = randomUnitVectors(4L, COUNT, DIMENSION);
+        FlatVectorIndex flat = new FlatVectorIndex(DIMENSION, kernel);
+        HnswVectorIndex hnsw = new HnswVectorIndex(DIMENSION, kernel, 16, 200, 64);
+        for (int i = 0; i < COUNT; i++) {
+            flat.upsert(i, vectors[i]);
+            hnsw.upsert(i, vectors[i]);
+        }
+
+        // 절반까지는 tombstone으로만 남고(중간에 한 번 확인), 절반을 넘기는 순간 재구성 후 나머지는 다시 tombstone
+        for (int i = 0; i < COUNT * 6 / 10; i++) {
+            assertTrue(hnsw.remove(i));
+            flat.remove(i);
+            if (i == COUNT * 4 / 10) {
+                assertTombstonesHidden(hnsw, vectors, i);
+            }
+        }
+        assertFalse(hnsw.remove(0));
+        assertEquals(COUNT - COUNT * 6 / 10, hnsw.size());
+        assertTombstonesHidden(hnsw, vectors, COUNT * 6 / 10 - 1);
+        assertTrue(averageRecall(flat, hnsw, 5L) >= RECALL_TARGET);
+    }
+
+    @Test
+    void upsertReplacesVector() {
+        float[][] vectors = randomUnitVectors(6L, 300, DIMENSION);
+        HnswVectorIndex hnsw = new HnswVectorIndex(DIMENSION, kernel, 16, 200, 64);
+        for (int i = 0; i < 200; i++) {
+            hnsw.upsert(i, vectors[i]);
+        }
+
+        // 같은 ID에 다른 벡터를 넣으면 예전 벡터로는 더 이상 찾히지 않음
+        hnsw.upsert(10L, vectors[250]);
+        assertEquals(200, hnsw.size());
+        assertEquals(10L, hnsw.search(vectors[250], 1, -1L).get(0).id());
+        assertNotEquals(10L, hnsw.search(vectors[10], 1, -1L).get(0).id());
+        assertFalse(hnsw.upsert(11L, new float[DIMENSION + 1]));
+    }
+
+    private void assertTombstonesHidden(HnswVectorIndex hnsw, float[][] vectors, int lastRemoved) {
+        for (int i = 0; i <= lastRemoved; i += 37) {
+            List<ScoredId> results = hnsw.search(vectors[i], K, -1L);
+            for (ScoredId result : results) {
+                assertTrue(result.id() > lastRemoved, "삭제된 ID가 검색됨: " + result.id());
+            }
+        }
+    }
+
+    private double averageRecall(FlatVectorIndex flat, HnswVectorIndex hnsw, long querySeed) {
+        float[][] queries = randomUnitVectors(querySeed, QUERIES, DIMENSION);
+        double total = 0;
+        for (float[] query : queries) {
+            total += recall(flat.search(query, K, -1L), hnsw.search(query, K, -1L));
+        }
+        return total / QUERIES;
+    }
+}
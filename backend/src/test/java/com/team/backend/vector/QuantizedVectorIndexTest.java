@@ -0,0 +1,114 @@
+package com.team.backend.vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.team.backend.vector.VectorTestSupport.ids;
+import static com.team.backend.vector.VectorTestSupport.randomUnitVectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantizedVectorIndexTest {
+
+    private static final int DIMENSION = 64;
+
+    private final SimilarityKernel kernel = new ScalarSimilarityKernel();
+
+    /**
+     * 값마다 반올림 오차는 scale / 2 이하이므로 |근사 - 정확| <= scale / 2 * Σ|q_i|
+     */
+    @Test
+    void approximateScoreWithinQuantizationBound() {
+        float[][] vectors = randomUnitVectors(11L, 200, DIMENSION);
+        float[][] queries = randomUnitVectors(12L, 20, DIMENSION);
+
+        for (int v = 0; v < vectors.length; v++) {
+            QuantizedVectorIndex index = new QuantizedVectorIndex(DIMENSION);
+            index.upsert(v, vectors[v]);
+            float scale = (max(vectors[v]) - min(vectors[v])) / 255f;
+
+            for (float[] query : queries) {
+                float exact = kernel.dot(query, vectors[v]);
+                float approximate = index.search(query, 1, -1L).get(0).score();
+                double bound = scale / 2.0 * absSum(query) + 1e-4;
+                assertTrue(Math.abs(approximate - exact) <= bound,
+                        "오차 " + Math.abs(approximate - exact) + " > " + bound);
+            }
+        }
+    }
+
+    @Test
+    void rerankRestoresExactTopK() {
+        int k = 10;
+        int candidates = 40;
+        float[][] vectors = randomUnitVectors(13L, 2000, DIMENSION);
+        FlatVectorIndex flat = new FlatVectorIndex(DIMENSION, kernel);
+        QuantizedVectorIndex quantized = new QuantizedVectorIndex(DIMENSION);
+        for (int i = 0; i < vectors.length; i++) {
+            flat.upsert(i, vectors[i]);
+            quantized.upsert(i, vectors[i]);
+        }
+
+        for (float[] query : randomUnitVectors(14L, 30, DIMENSION)) {
+            // SolutionService와 같은 방식: 근사 후보를 넉넉히 뽑고 원본 벡터로 재정렬
+            TopK reranked = new TopK(k);
+            for (ScoredId candidate : quantized.search(query, candidates, -1L)) {
+                reranked.offer(candidate.id(), kernel.dot(query, vectors[(int) candidate.id()]));
+            }
+
+            List<ScoredId> exact = flat.search(query, k, -1L);
+            List<ScoredId> result = reranked.result();
+            assertEquals(ids(exact), ids(result));
+            for (int i = 0; i < k; i++) {
+                assertEquals(exact.get(i).score(), result.get(i).score(), 1e-6f);
+            }
+        }
+    }
+
+    @Test
+    void constantVectorIsExact() {
+        float[] constant = new float[DIMENSION];
+        java.util.Arrays.fill(constant, (float) (1.0 / Math.sqrt(DIMENSION)));
+        QuantizedVectorIndex index = new QuantizedVectorIndex(DIMENSION);
+        index.upsert(1L, constant);
+
+        float[] query = randomUnitVectors(15L, 1, DIMENSION)[0];
+        assertEquals(kernel.dot(query, constant), index.search(query, 1, -1L).get(0).score(), 1e-5f);
+        assertFalse(index.exactScores());
+    }
+
+    @Test
+    void removeMovesLastSlot() {
+        float[][] vectors = randomUnitVectors(16L, 3, DIMENSION);
+        QuantizedVectorIndex index = new QuantizedVectorIndex(DIMENSION);
+        for (int i = 0; i < vectors.length; i++) {
+            index.upsert(i, vectors[i]);
+        }
+
+        assertTrue(index.remove(0L));
+        assertFalse(index.remove(0L));
+        assertEquals(2, index.size());
+        // 마지막 슬롯(ID 2)이 빈 자리로 옮겨진 뒤에도 그대로 검색됨
+        assertEquals(2L, index.search(vectors[2], 1, -1L).get(0).id());
+    }
+
+    private static float min(float[] vector) {
+        float min = Float.POSITIVE_INFINITY;
+        for (float v : vector) min = Math.min(min, v);
+        return min;
+    }
+
+    private static float max(float[] vector) {
+        float max = Float.NEGATIVE_INFINITY;
+        for (float v : vector) max = Math.max(max, v);
+        return max;
+    }
+
+    private static double absSum(float[] vector) {
+        double sum = 0;
+        for (float v : vector) sum += Math.abs(v);
+        return sum;
+    }
+}
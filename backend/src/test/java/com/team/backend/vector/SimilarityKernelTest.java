@@ -0,0 +1,77 @@
+package com.team.backend.vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SimilarityKernelTest {
+
+    private final SimilarityKernel scalar = new ScalarSimilarityKernel();
+
+    @Test
+    void scalarMatchesNaiveLoop() {
+        Random random = new Random(21L);
+        for (int length = 0; length <= 67; length++) {
+            float[] a = randomArray(random, length + 5);
+            float[] b = randomArray(random, length + 3);
+            assertClose(naiveDot(a, 5, b, 3, length), scalar.dot(a, 5, b, 3, length), a, 5, b, 3, length);
+        }
+    }
+
+    @Test
+    void vectorApiMatchesScalar() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "jdk.incubator.vector 모듈 없음 (--add-modules 필요)");
+        SimilarityKernel simd = SimilarityKernels.create("simd");
+        assumeTrue(simd.name().startsWith("simd"), "Vector API 커널을 불러오지 못함");
+
+        Random random = new Random(22L);
+        // 레인 수의 배수 / 배수가 아닌 꼬리 / 오프셋 조합
+        for (int length : new int[]{0, 1, 7, 8, 15, 16, 17, 31, 64, 65, 256, 768, 3072}) {
+            for (int offset : new int[]{0, 1, 3}) {
+                float[] a = randomArray(random, length + offset);
+                float[] b = randomArray(random, length + offset);
+                float expected = scalar.dot(a, offset, b, offset, length);
+                assertClose(expected, simd.dot(a, offset, b, offset, length), a, offset, b, offset, length);
+            }
+        }
+    }
+
+    @Test
+    void cosineHandlesZeroAndMismatch() {
+        assertEquals(0f, scalar.cosine(new float[]{0f, 0f}, new float[]{1f, 0f}));
+        assertEquals(0f, scalar.cosine(new float[]{1f}, new float[]{1f, 0f}));
+        assertEquals(1f, scalar.cosine(new float[]{3f, 4f}, new float[]{6f, 8f}), 1e-6f);
+    }
+
+    // 합산 순서 차이만 허용: 상대 오차 Σ|a_i b_i| 기준
+    private static void assertClose(float expected, float actual, float[] a, int aOffset, float[] b, int bOffset, int length) {
+        double magnitude = 0;
+        for (int i = 0; i < length; i++) {
+            magnitude += Math.abs(a[aOffset + i] * b[bOffset + i]);
+        }
+        double tolerance = 1e-5 * Math.max(1.0, magnitude);
+        assertTrue(Math.abs(expected - actual) <= tolerance,
+                "length=" + length + " expected=" + expected + " actual=" + actual);
+    }
+
+    private static float naiveDot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return (float) sum;
+    }
+
+    private static float[] randomArray(Random random, int length) {
+        float[] array = new float[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = (float) random.nextGaussian();
+        }
+        return array;
+    }
+}
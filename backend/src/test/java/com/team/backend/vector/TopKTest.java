@@ -0,0 +1,55 @@
+package com.team.backend.vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.team.backend.vector.VectorTestSupport.ids;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopKTest {
+
+    @Test
+    void keepsHighestScoresInDescendingOrder() {
+        TopK topK = new TopK(3);
+        float[] scores = {0.1f, 0.9f, -0.5f, 0.7f, 0.3f, 0.8f};
+        for (int i = 0; i < scores.length; i++) {
+            topK.offer(i, scores[i]);
+        }
+
+        List<ScoredId> result = topK.result();
+        assertEquals(List.of(new ScoredId(1, 0.9f), new ScoredId(5, 0.8f), new ScoredId(3, 0.7f)), result);
+        assertEquals(0.7f, topK.threshold());
+    }
+
+    @Test
+    void tiesAtThresholdKeepEarlierEntries() {
+        TopK topK = new TopK(2);
+        topK.offer(1, 0.5f);
+        topK.offer(2, 0.5f);
+        topK.offer(3, 0.5f); // K번째 점수와 같으면 교체하지 않음
+
+        assertEquals(Set.of(1L, 2L), ids(topK.result()));
+
+        topK.offer(4, 0.6f);
+        List<ScoredId> result = topK.result();
+        assertEquals(new ScoredId(4, 0.6f), result.get(0));
+        assertEquals(0.5f, result.get(1).score());
+    }
+
+    @Test
+    void partialAndEmptyHeaps() {
+        TopK topK = new TopK(5);
+        assertEquals(Float.NEGATIVE_INFINITY, topK.threshold());
+        topK.offer(1, 0.2f);
+        topK.offer(2, 0.4f);
+        assertEquals(List.of(new ScoredId(2, 0.4f), new ScoredId(1, 0.2f)), topK.result());
+        assertEquals(Float.NEGATIVE_INFINITY, topK.threshold());
+
+        TopK none = new TopK(0);
+        none.offer(1, 1f);
+        assertTrue(none.result().isEmpty());
+    }
+}
@@ -0,0 +1,132 @@
+package com.team.backend.vector;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 트랜잭션 밖에서 호출하면 *AfterCommit 변경이 바로 반영되는 점을 이용해 로딩 중 변경을 재현
+ */
+class UserVectorIndexCacheTest {
+
+    private static final int DIMENSION = 4;
+    private static final Long USER_ID = 1L;
+
+    private final UserVectorIndexCache cache = new UserVectorIndexCache();
+    private final SimilarityKernel kernel = new ScalarSimilarityKernel();
+
+    @Test
+    void loadsOnceAndAppliesLaterChanges() {
+        AtomicInteger loads = new AtomicInteger();
+        VectorIndex first = cache.getOrLoad(USER_ID, () -> {
+            loads.incrementAndGet();
+            return new FlatVectorIndex(DIMENSION, kernel);
+        });
+
+        cache.upsertAfterCommit(USER_ID, 7L, new float[]{1f, 0f, 0f, 0f});
+        VectorIndex second = cache.getOrLoad(USER_ID, () -> {
+            loads.incrementAndGet();
+            return new FlatVectorIndex(DIMENSION, kernel);
+        });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, second.size());
+    }
+
+    @Test
+    void changeDuringLoadIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        VectorIndex stale = cache.getOrLoad(USER_ID, () -> {
+            loads.incrementAndGet();
+            FlatVectorIndex index = new FlatVectorIndex(DIMENSION, kernel);
+            index.upsert(5L, new float[]{0f, 1f, 0f, 0f});
+            // DB에서 읽은 뒤, 설치 전에 기록이 삭제됨
+            cache.removeAfterCommit(USER_ID, 5L);
+            return index;
+        });
+        assertEquals(1, stale.size()); // 이번 검색에는 그대로 사용
+
+        VectorIndex reloaded = cache.getOrLoad(USER_ID, () -> {
+            loads.incrementAndGet();
+            return new FlatVectorIndex(DIMENSION, kernel);
+        });
+        assertNotSame(stale, reloaded);
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.cachedUserCount());
+        assertEquals(0, reloaded.size());
+    }
+
+    @Test
+    void concurrentLoaderKeepsFirstInstalledIndex() {
+        VectorIndex[] inner = new VectorIndex[1];
+        VectorIndex outer = cache.getOrLoad(USER_ID, () -> {
+            // 첫 로더가 읽는 동안 다른 요청이 먼저 로딩을 끝내고 설치
+            inner[0] = cache.getOrLoad(USER_ID, () -> new FlatVectorIndex(DIMENSION, kernel));
+            return new FlatVectorIndex(DIMENSION, kernel);
+        });
+
+        assertSame(inner[0], outer);
+        assertSame(outer, cache.getOrLoad(USER_ID, () -> new FlatVectorIndex(DIMENSION, kernel)));
+    }
+
+    @Test
+    void evictDuringLoadOfAnotherLoaderIsNotLost() {
+        VectorIndex[] inner = new VectorIndex[1];
+        cache.getOrLoad(USER_ID, () -> {
+            inner[0] = cache.getOrLoad(USER_ID, () -> new FlatVectorIndex(DIMENSION, kernel));
+            cache.evictAfterCommit(USER_ID); // 안쪽 로더가 설치한 인덱스를 제거
+            return new FlatVectorIndex(DIMENSION, kernel);
+        });
+
+        // 바깥 로더는 변경 이전 세대로 읽었으므로 설치되지 않음
+        assertEquals(0, cache.cachedUserCount());
+    }
+
+    @Test
+    void dimensionMismatchDropsCachedIndex() {
+        cache.getOrLoad(USER_ID, () -> new FlatVectorIndex(DIMENSION, kernel));
+        cache.upsertAfterCommit(USER_ID, 1L, new float[DIMENSION + 1]);
+        assertEquals(0, cache.cachedUserCount());
+    }
+
+    @Test
+    void growingUpsertsStayWithinMemoryBudget() {
+        ReflectionTestUtils.setField(cache, "maxMemoryMb", 1L);
+        int dimension = 1024; // 벡터 하나 4KB → 1MB 예산 = 256개
+        cache.getOrLoad(1L, () -> new FlatVectorIndex(dimension, kernel));
+        cache.getOrLoad(2L, () -> new FlatVectorIndex(dimension, kernel));
+
+        for (long recordId = 0; recordId < 300; recordId++) {
+            float[] vector = new float[dimension];
+            vector[(int) (recordId % dimension)] = 1f;
+            cache.upsertAfterCommit(1L, recordId, vector);
+        }
+
+        assertEquals(1, cache.cachedUserCount());
+    }
+
+    @Test
+    void generationsArePrunedWithTheirIndexes() {
+        ReflectionTestUtils.setField(cache, "idleTimeout", Duration.ZERO);
+        Map<?, ?> generations = (Map<?, ?>) ReflectionTestUtils.getField(cache, "generations");
+
+        cache.getOrLoad(1L, () -> new FlatVectorIndex(DIMENSION, kernel));
+        cache.getOrLoad(2L, () -> new FlatVectorIndex(DIMENSION, kernel));
+        cache.evictAfterCommit(1L); // 회원 탈퇴
+        assertFalse(generations.containsKey(1L));
+
+        cache.evictIdle();
+        assertEquals(0, cache.cachedUserCount());
+        assertTrue(generations.isEmpty());
+    }
+}
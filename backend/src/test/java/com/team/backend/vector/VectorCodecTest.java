@@ -0,0 +1,62 @@
+package com.team.backend.vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VectorCodecTest {
+
+    @Test
+    void roundTrip() {
+        float[] vector = {0.5f, -1.25f, Float.MIN_VALUE, 3.4e38f, 0f, -0f};
+        assertArrayEquals(vector, VectorCodec.decode(VectorCodec.encode(vector)));
+        assertArrayEquals(new float[0], VectorCodec.decode(VectorCodec.encode(new float[0])));
+        assertNull(VectorCodec.encode(null));
+        assertNull(VectorCodec.decode(null));
+    }
+
+    @Test
+    void headerAndLittleEndianLayout() {
+        byte[] bytes = VectorCodec.encode(new float[]{1.0f, -2.5f, 0.1f});
+
+        assertEquals(VectorCodec.HEADER_BYTES + 3 * Float.BYTES, bytes.length);
+        assertEquals(VectorCodec.FORMAT_VERSION, bytes[0]);
+        assertArrayEquals(new byte[]{0, 0, 0}, new byte[]{bytes[1], bytes[2], bytes[3]});
+        // 차원 3 (int32 LE) / 1.0f = 0x3F800000 (LE: 00 00 80 3F)
+        assertArrayEquals(new byte[]{3, 0, 0, 0}, new byte[]{bytes[4], bytes[5], bytes[6], bytes[7]});
+        assertArrayEquals(new byte[]{0, 0, (byte) 0x80, 0x3F}, new byte[]{bytes[8], bytes[9], bytes[10], bytes[11]});
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(-2.5f, buffer.getFloat(12));
+        assertEquals(0.1f, buffer.getFloat(16));
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] bytes = VectorCodec.encode(new float[]{1f, 2f});
+        bytes[0] = 2;
+        assertThrows(IllegalArgumentException.class, () -> VectorCodec.decode(bytes));
+    }
+
+    @Test
+    void rejectsDimensionMismatch() {
+        byte[] bytes = VectorCodec.encode(new float[]{1f, 2f});
+        bytes[4] = 3; // 헤더는 3차원, 데이터는 2차원
+        assertThrows(IllegalArgumentException.class, () -> VectorCodec.decode(bytes));
+
+        bytes[4] = (byte) 0xFF;
+        bytes[7] = (byte) 0xFF; // 음수 차원
+        assertThrows(IllegalArgumentException.class, () -> VectorCodec.decode(bytes));
+    }
+
+    @Test
+    void rejectsTruncatedHeader() {
+        assertThrows(IllegalArgumentException.class, () -> VectorCodec.decode(new byte[]{1, 0, 0}));
+    }
+}
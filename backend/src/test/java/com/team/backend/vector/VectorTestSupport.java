@@ -0,0 +1,50 @@
+package com.team.backend.vector;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 벡터 테스트 공통: 시드 고정 단위 벡터 생성 / recall 계산
+ */
+final class VectorTestSupport {
+
+    private VectorTestSupport() {
+    }
+
+    static float[] randomUnitVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return UnitVector.normalize(vector).values();
+    }
+
+    static float[][] randomUnitVectors(long seed, int count, int dimension) {
+        Random random = new Random(seed);
+        float[][] vectors = new float[count][];
+        for (int i = 0; i < count; i++) {
+            vectors[i] = randomUnitVector(random, dimension);
+        }
+        return vectors;
+    }
+
+    static Set<Long> ids(List<ScoredId> results) {
+        Set<Long> ids = new HashSet<>();
+        for (ScoredId result : results) {
+            ids.add(result.id());
+        }
+        return ids;
+    }
+
+    /**
+     * 정확한 결과(expected) 중 근사 결과(actual)에 포함된 비율
+     */
+    static double recall(List<ScoredId> expected, List<ScoredId> actual) {
+        if (expected.isEmpty()) return 1.0;
+        Set<Long> found = ids(actual);
+        long hits = expected.stream().filter(scored -> found.contains(scored.id())).count();
+        return (double) hits / expected.size();
+    }
+}
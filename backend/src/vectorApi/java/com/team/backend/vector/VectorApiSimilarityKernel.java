@@ -0,0 +1,39 @@
+package com.team.backend.vector;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * JDK Vector API(SIMD) 구현
+ * 실행 시 --add-modules jdk.incubator.vector 가 필요하며, 없으면 SimilarityKernels가 스칼라로 대체한다.
+ * incubator 모듈 경고를 main 컴파일에서 분리하기 위해 별도 소스셋(src/vectorApi/java)에 둔다.
+ */
+public class VectorApiSimilarityKernel implements SimilarityKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public String name() {
+        return "simd(" + SPECIES.length() + " lanes)";
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        int upper = SPECIES.loopBound(length);
+
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, bOffset + i);
+            acc = va.fma(vb, acc);
+        }
+
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+}